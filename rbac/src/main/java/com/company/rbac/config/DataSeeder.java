@@ -1,8 +1,12 @@
 package com.company.rbac.config;
 
+import com.company.rbac.entity.Permission;
 import com.company.rbac.entity.Role;
+import com.company.rbac.entity.RouteRule;
 import com.company.rbac.entity.User;
+import com.company.rbac.repository.PermissionRepository;
 import com.company.rbac.repository.RoleRepository;
+import com.company.rbac.repository.RouteRuleRepository;
 import com.company.rbac.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -21,12 +26,17 @@ public class DataSeeder implements CommandLineRunner {
 
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final PermissionRepository permissionRepository;
+    private final RouteRuleRepository routeRuleRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Override
     @Transactional
     public void run(String... args) {
         seedRoles();
+        seedPermissions();
+        seedRoleHierarchy();
+        seedRouteRules();
         seedDefaultAdmin();
     }
 
@@ -45,6 +55,71 @@ public class DataSeeder implements CommandLineRunner {
         }
     }
 
+    private void seedPermissions() {
+        Map<String, String> permissionRoles = Map.of(
+                "dashboard:read", "USER",
+                "reports:read", "MANAGER",
+                "admin-panel:read", "ADMIN",
+                "authz:check", "ADMIN",
+                "tokens:introspect", "ADMIN"
+        );
+
+        permissionRoles.forEach((permissionName, roleName) -> {
+            if (!permissionRepository.existsByName(permissionName)) {
+                Permission permission = permissionRepository.save(Permission.builder()
+                        .name(permissionName)
+                        .description("Default permission " + permissionName)
+                        .build());
+
+                roleRepository.findByName(roleName)
+                        .ifPresent(role -> role.getPermissions().add(permission));
+                log.info("Created default permission: {} granted to {}", permissionName, roleName);
+            }
+        });
+    }
+
+    private void seedRoleHierarchy() {
+        if (!roleRepository.findAllRoleInheritance().isEmpty()) {
+            return;
+        }
+
+        Role admin = roleRepository.findByName("ADMIN").orElseThrow();
+        Role manager = roleRepository.findByName("MANAGER").orElseThrow();
+        Role user = roleRepository.findByName("USER").orElseThrow();
+
+        admin.getInheritedRoles().add(manager);
+        manager.getInheritedRoles().add(user);
+        log.info("Created default role hierarchy: ADMIN > MANAGER > USER");
+    }
+
+    private void seedRouteRules() {
+        if (routeRuleRepository.count() > 0) {
+            return;
+        }
+
+        List<RouteRule> rules = List.of(
+                routeRule("/api/users/**", RouteRule.Access.HAS_ANY_ROLE, "ADMIN"),
+                routeRule("/api/roles/**", RouteRule.Access.HAS_ANY_ROLE, "ADMIN"),
+                routeRule("/api/permissions/**", RouteRule.Access.HAS_ANY_ROLE, "ADMIN"),
+                routeRule("/api/route-rules/**", RouteRule.Access.HAS_ANY_ROLE, "ADMIN"),
+                routeRule("/api/authz/**", RouteRule.Access.HAS_PERMISSION, "authz:check"),
+                routeRule("/api/resources/admin-panel", RouteRule.Access.HAS_PERMISSION, "admin-panel:read"),
+                routeRule("/api/resources/reports", RouteRule.Access.HAS_PERMISSION, "reports:read"),
+                routeRule("/api/resources/dashboard", RouteRule.Access.HAS_PERMISSION, "dashboard:read")
+        );
+
+        routeRuleRepository.saveAll(rules);
+        log.info("Created {} default route rules", rules.size());
+    }
+
+    private RouteRule routeRule(String pattern, RouteRule.Access access, String value) {
+        return RouteRule.builder()
+                .pattern(pattern)
+                .access(access)
+                .value(value)
+                .build();
+    }
+
     private void seedDefaultAdmin() {
         String adminEmail = "admin@example.com";
 
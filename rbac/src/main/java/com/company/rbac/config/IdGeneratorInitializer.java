@@ -0,0 +1,37 @@
+package com.company.rbac.config;
+
+import com.company.rbac.entity.User;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the user id generator past every existing id before the application serves requests.
+ * Rows inserted while ids still came from {@code AUTO_INCREMENT}, or by other tools, would
+ * otherwise collide with the generator's blocks. Depending on the entity manager factory
+ * guarantees Hibernate has created the generator table first.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void alignUserIds() {
+        // With pooled-lo the stored value is the first id of the next block
+        jdbcTemplate.update("INSERT INTO " + User.ID_GENERATOR_TABLE + " (sequence_name, next_val) "
+                + "SELECT ?, COALESCE(MAX(id), 0) + 1 FROM users "
+                + "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))",
+                User.ID_GENERATOR_SEGMENT);
+
+        Long next = jdbcTemplate.queryForObject("SELECT next_val FROM " + User.ID_GENERATOR_TABLE
+                + " WHERE sequence_name = ?", Long.class, User.ID_GENERATOR_SEGMENT);
+        log.info("User ids continue from {}", next);
+    }
+}
@@ -0,0 +1,39 @@
+package com.company.rbac.config;
+
+import com.company.rbac.security.Authorize;
+import com.company.rbac.security.AuthorizeAuthorizationManager;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+
+/**
+ * Registers the interceptor enforcing {@link Authorize} rules. Bean methods are static because
+ * the manager is also a bean post-processor and must not pull in other beans early.
+ */
+@Configuration
+public class MethodAuthorizationConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static AuthorizeAuthorizationManager authorizeAuthorizationManager() {
+        return new AuthorizeAuthorizationManager();
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor authorizeAuthorizationAdvisor(AuthorizeAuthorizationManager authorizeAuthorizationManager) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(null, Authorize.class, true))
+                .union(new AnnotationMatchingPointcut(Authorize.class, true));
+
+        AuthorizationManagerBeforeMethodInterceptor interceptor =
+                new AuthorizationManagerBeforeMethodInterceptor(pointcut, authorizeAuthorizationManager);
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
+    }
+}
@@ -1,8 +1,14 @@
 package com.company.rbac.config;
 
+import com.company.rbac.security.BoundedPasswordEncoder;
+import com.company.rbac.security.CalibratedBCryptPasswordEncoder;
 import com.company.rbac.security.JwtAuthenticationEntryPoint;
 import com.company.rbac.security.JwtAuthenticationFilter;
+import com.company.rbac.security.PasswordHashingExecutor;
+import com.company.rbac.security.RoleHierarchyClosure;
+import com.company.rbac.security.RouteAuthorizationManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,9 +20,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -29,20 +34,32 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RouteAuthorizationManager routeAuthorizationManager;
+    private final RoleHierarchyClosure roleHierarchyClosure;
+
+    @Value("${security.password-hashing.strength:12}")
+    private int passwordStrength;
+
+    @Value("${security.password-hashing.auto-calibrate:false}")
+    private boolean autoCalibrate;
+
+    @Value("${security.password-hashing.target-millis:100}")
+    private long targetMillis;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Introspection reveals token contents, so only trusted callers may use it
+                        .requestMatchers("/api/auth/introspect").access(roleHierarchyClosure.hasPermission("tokens:introspect"))
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
-                        .requestMatchers("/api/users/**").hasRole("ADMIN")
-                        .requestMatchers("/api/roles/**").hasRole("ADMIN")
-                        .requestMatchers("/api/resources/admin-panel").hasRole("ADMIN")
-                        .requestMatchers("/api/resources/reports").hasAnyRole("MANAGER", "ADMIN")
-                        .requestMatchers("/api/resources/dashboard").hasAnyRole("USER", "MANAGER", "ADMIN")
-                        .anyRequest().authenticated()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
+                        // Everything else is resolved from the route_rules table
+                        .anyRequest().access(routeAuthorizationManager)
                 )
                 .exceptionHandling(exception -> exception
                         .authenticationEntryPoint(jwtAuthenticationEntryPoint)
@@ -61,6 +78,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes the password on login when its stored cost differs from the current one
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -70,7 +89,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public BoundedPasswordEncoder passwordEncoder() {
+        CalibratedBCryptPasswordEncoder bcrypt = autoCalibrate
+                ? CalibratedBCryptPasswordEncoder.calibrate(targetMillis, passwordStrength)
+                : new CalibratedBCryptPasswordEncoder(passwordStrength);
+        return new BoundedPasswordEncoder(bcrypt, passwordHashingExecutor);
     }
 }
\ No newline at end of file
@@ -5,11 +5,18 @@ import com.company.rbac.dto.request.RefreshTokenRequest;
 import com.company.rbac.dto.request.RegisterRequest;
 import com.company.rbac.dto.response.ApiResponse;
 import com.company.rbac.dto.response.AuthResponse;
+import com.company.rbac.dto.response.IntrospectionResponse;
+import com.company.rbac.security.LoginRateLimiter;
 import com.company.rbac.service.AuthService;
+import com.company.rbac.service.TokenIntrospectionService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,6 +27,8 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final TokenIntrospectionService tokenIntrospectionService;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -30,9 +39,13 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest
+    ) {
         log.info("POST /api/auth/login - User login attempt: {}", request.getEmail());
 
+        loginRateLimiter.checkLogin(request.getEmail(), httpRequest.getRemoteAddr());
         AuthResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
@@ -45,13 +58,30 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<IntrospectionResponse> introspect(
+            @RequestParam("token") String token,
+            @RequestParam(value = "token_type_hint", required = false) String tokenTypeHint
+    ) {
+        log.debug("POST /api/auth/introspect - Introspect token (hint: {})", tokenTypeHint);
+
+        IntrospectionResponse response = tokenIntrospectionService.introspect(token);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(response);
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<ApiResponse<Void>> logout(
-            @RequestHeader(value = "X-Refresh-Token", required = false) String refreshToken
+            @RequestHeader(value = "X-Refresh-Token", required = false) String refreshToken,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization
     ) {
         log.info("POST /api/auth/logout - User logout");
 
-        authService.logout(refreshToken);
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(refreshToken, accessToken);
         return ResponseEntity.ok(ApiResponse.success("Logged out successfully"));
     }
 }
\ No newline at end of file
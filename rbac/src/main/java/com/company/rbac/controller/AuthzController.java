@@ -0,0 +1,74 @@
+package com.company.rbac.controller;
+
+import com.company.rbac.dto.request.AuthzCheckRequest;
+import com.company.rbac.dto.response.AuthzCheckResult;
+import com.company.rbac.security.Authorize;
+import com.company.rbac.service.AuthzService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/authz")
+@RequiredArgsConstructor
+@Slf4j
+@Authorize("hasAuthority('authz:check')")
+public class AuthzController {
+
+    private static final int FLUSH_EVERY = 256;
+
+    private final AuthzService authzService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/check", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AuthzCheckResult>> check(@Valid @RequestBody AuthzCheckRequest request) {
+        log.info("POST /api/authz/check - Evaluate {} checks", request.getChecks().size());
+
+        List<AuthzCheckResult> results = authzService.check(request.getChecks());
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Same evaluation, but each result is written as one JSON line as soon as it is known.
+     */
+    @PostMapping(value = "/check", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> checkStream(@Valid @RequestBody AuthzCheckRequest request) {
+        log.info("POST /api/authz/check - Stream {} checks", request.getChecks().size());
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // Lines are separated explicitly below instead of by Jackson's default space
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                authzService.check(request.getChecks(), result -> {
+                    try {
+                        generator.writeObject(result);
+                        generator.writeRaw('\n');
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.rbac.controller;
+
+import com.company.rbac.dto.request.PermissionCreateRequest;
+import com.company.rbac.dto.response.ApiResponse;
+import com.company.rbac.dto.response.PermissionResponse;
+import com.company.rbac.security.Authorize;
+import com.company.rbac.service.PermissionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/permissions")
+@RequiredArgsConstructor
+@Slf4j
+@Authorize("hasRole('ADMIN')")
+public class PermissionController {
+
+    private final PermissionService permissionService;
+
+    @GetMapping
+    public ResponseEntity<List<PermissionResponse>> getAllPermissions() {
+        log.info("GET /api/permissions - Get all permissions");
+
+        List<PermissionResponse> response = permissionService.getAllPermissions();
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping
+    public ResponseEntity<PermissionResponse> createPermission(@Valid @RequestBody PermissionCreateRequest request) {
+        log.info("POST /api/permissions - Create new permission: {}", request.getName());
+
+        PermissionResponse response = permissionService.createPermission(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deletePermission(@PathVariable Long id) {
+        log.info("DELETE /api/permissions/{} - Delete permission", id);
+
+        permissionService.deletePermission(id);
+        return ResponseEntity.ok(ApiResponse.success("Permission deleted successfully"));
+    }
+}
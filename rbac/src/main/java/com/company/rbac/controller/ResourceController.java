@@ -1,9 +1,9 @@
 package com.company.rbac.controller;
 
+import com.company.rbac.security.Authorize;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,7 +21,7 @@ import java.util.stream.Collectors;
 public class ResourceController {
 
     @GetMapping("/dashboard")
-    @PreAuthorize("hasAnyRole('USER', 'MANAGER', 'ADMIN')")
+    @Authorize("hasAuthority('dashboard:read')")
     public ResponseEntity<Map<String, Object>> getUserDashboard(Authentication authentication) {
         log.info("GET /api/resources/dashboard - Access by: {}", authentication.getName());
 
@@ -41,7 +41,7 @@ public class ResourceController {
     }
 
     @GetMapping("/reports")
-    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    @Authorize("hasAuthority('reports:read')")
     public ResponseEntity<Map<String, Object>> getManagerReports(Authentication authentication) {
         log.info("GET /api/resources/reports - Access by: {}", authentication.getName());
 
@@ -73,7 +73,7 @@ public class ResourceController {
     }
 
     @GetMapping("/admin-panel")
-    @PreAuthorize("hasRole('ADMIN')")
+    @Authorize("hasAuthority('admin-panel:read')")
     public ResponseEntity<Map<String, Object>> getAdminPanel(Authentication authentication) {
         log.info("GET /api/resources/admin-panel - Access by: {}", authentication.getName());
 
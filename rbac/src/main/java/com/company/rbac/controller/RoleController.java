@@ -2,16 +2,18 @@ package com.company.rbac.controller;
 
 import com.company.rbac.dto.request.RoleAssignRequest;
 import com.company.rbac.dto.request.RoleCreateRequest;
+import com.company.rbac.dto.request.RoleMembershipBatchRequest;
 import com.company.rbac.dto.response.ApiResponse;
+import com.company.rbac.dto.response.RoleMembershipBatchResponse;
 import com.company.rbac.dto.response.RoleResponse;
 import com.company.rbac.dto.response.UserResponse;
+import com.company.rbac.security.Authorize;
 import com.company.rbac.service.RoleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,7 +22,7 @@ import java.util.List;
 @RequestMapping("/api/roles")
 @RequiredArgsConstructor
 @Slf4j
-@PreAuthorize("hasRole('ADMIN')")
+@Authorize("hasRole('ADMIN')")
 public class RoleController {
 
     private final RoleService roleService;
@@ -71,6 +73,19 @@ public class RoleController {
         return ResponseEntity.ok(ApiResponse.success("Role revoked successfully", user));
     }
 
+    @PostMapping("/{id}/members:batch")
+    public ResponseEntity<ApiResponse<RoleMembershipBatchResponse>> updateMembers(
+            @PathVariable Long id,
+            @Valid @RequestBody RoleMembershipBatchRequest request
+    ) {
+        log.info("POST /api/roles/{}/members:batch - Add {} and remove {} members", id,
+                request.getAdd() == null ? 0 : request.getAdd().size(),
+                request.getRemove() == null ? 0 : request.getRemove().size());
+
+        RoleMembershipBatchResponse response = roleService.updateMembers(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Role members updated", response));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteRole(@PathVariable Long id) {
         log.info("DELETE /api/roles/{} - Delete role", id);
@@ -78,4 +93,48 @@ public class RoleController {
         roleService.deleteRole(id);
         return ResponseEntity.ok(ApiResponse.success("Role deleted successfully"));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/{id}/permissions/{permissionId}")
+    public ResponseEntity<ApiResponse<RoleResponse>> addPermission(
+            @PathVariable Long id,
+            @PathVariable Long permissionId
+    ) {
+        log.info("POST /api/roles/{}/permissions/{} - Add permission to role", id, permissionId);
+
+        RoleResponse role = roleService.addPermission(id, permissionId);
+        return ResponseEntity.ok(ApiResponse.success("Permission added successfully", role));
+    }
+
+    @DeleteMapping("/{id}/permissions/{permissionId}")
+    public ResponseEntity<ApiResponse<RoleResponse>> removePermission(
+            @PathVariable Long id,
+            @PathVariable Long permissionId
+    ) {
+        log.info("DELETE /api/roles/{}/permissions/{} - Remove permission from role", id, permissionId);
+
+        RoleResponse role = roleService.removePermission(id, permissionId);
+        return ResponseEntity.ok(ApiResponse.success("Permission removed successfully", role));
+    }
+
+    @PostMapping("/{id}/inherits/{inheritedRoleId}")
+    public ResponseEntity<ApiResponse<RoleResponse>> addInheritedRole(
+            @PathVariable Long id,
+            @PathVariable Long inheritedRoleId
+    ) {
+        log.info("POST /api/roles/{}/inherits/{} - Add inherited role", id, inheritedRoleId);
+
+        RoleResponse role = roleService.addInheritedRole(id, inheritedRoleId);
+        return ResponseEntity.ok(ApiResponse.success("Inherited role added successfully", role));
+    }
+
+    @DeleteMapping("/{id}/inherits/{inheritedRoleId}")
+    public ResponseEntity<ApiResponse<RoleResponse>> removeInheritedRole(
+            @PathVariable Long id,
+            @PathVariable Long inheritedRoleId
+    ) {
+        log.info("DELETE /api/roles/{}/inherits/{} - Remove inherited role", id, inheritedRoleId);
+
+        RoleResponse role = roleService.removeInheritedRole(id, inheritedRoleId);
+        return ResponseEntity.ok(ApiResponse.success("Inherited role removed successfully", role));
+    }
+}
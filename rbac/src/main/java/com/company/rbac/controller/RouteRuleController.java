@@ -0,0 +1,60 @@
+package com.company.rbac.controller;
+
+import com.company.rbac.dto.request.RouteRuleRequest;
+import com.company.rbac.dto.response.ApiResponse;
+import com.company.rbac.dto.response.RouteRuleResponse;
+import com.company.rbac.security.Authorize;
+import com.company.rbac.service.RouteRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/route-rules")
+@RequiredArgsConstructor
+@Slf4j
+@Authorize("hasRole('ADMIN')")
+public class RouteRuleController {
+
+    private final RouteRuleService routeRuleService;
+
+    @GetMapping
+    public ResponseEntity<List<RouteRuleResponse>> getAllRules() {
+        log.info("GET /api/route-rules - Get all route rules");
+
+        List<RouteRuleResponse> response = routeRuleService.getAllRules();
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping
+    public ResponseEntity<RouteRuleResponse> createRule(@Valid @RequestBody RouteRuleRequest request) {
+        log.info("POST /api/route-rules - Create route rule: {}", request.getPattern());
+
+        RouteRuleResponse response = routeRuleService.createRule(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<RouteRuleResponse> updateRule(
+            @PathVariable Long id,
+            @Valid @RequestBody RouteRuleRequest request
+    ) {
+        log.info("PUT /api/route-rules/{} - Update route rule", id);
+
+        RouteRuleResponse response = routeRuleService.updateRule(id, request);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteRule(@PathVariable Long id) {
+        log.info("DELETE /api/route-rules/{} - Delete route rule", id);
+
+        routeRuleService.deleteRule(id);
+        return ResponseEntity.ok(ApiResponse.success("Route rule deleted successfully"));
+    }
+}
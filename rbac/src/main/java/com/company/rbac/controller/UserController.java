@@ -3,28 +3,52 @@ package com.company.rbac.controller;
 import com.company.rbac.dto.request.UserCreateRequest;
 import com.company.rbac.dto.request.UserUpdateRequest;
 import com.company.rbac.dto.response.ApiResponse;
+import com.company.rbac.dto.response.CursorPageResponse;
 import com.company.rbac.dto.response.PageResponse;
+import com.company.rbac.dto.response.UserImportProgress;
 import com.company.rbac.dto.response.UserResponse;
+import com.company.rbac.exception.BadRequestException;
+import com.company.rbac.security.Authorize;
+import com.company.rbac.service.UserImportReader;
+import com.company.rbac.service.UserImportService;
 import com.company.rbac.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 @Slf4j
-@PreAuthorize("hasRole('ADMIN')")
+@Authorize("hasRole('ADMIN')")
 public class UserController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final int FLUSH_EVERY = 256;
+    private static final int MAX_SCROLL_SIZE = 1000;
+
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<PageResponse<UserResponse>> getAllUsers(
@@ -42,6 +66,87 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Keyset-paginated listing: pass the returned {@code nextCursor} to get the following slice.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<UserResponse>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") String sortDir
+    ) {
+        log.info("GET /api/users/scroll - Get users after cursor (size: {})", size);
+
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("Size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+
+        Sort.Direction direction = sortDir.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        CursorPageResponse<UserResponse> response = userService.scrollUsers(cursor, size, sortBy, direction);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streams every user with its roles as NDJSON, one object per line.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        log.info("GET /api/users/export - Export users as NDJSON");
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                userService.exportUsers(user -> {
+                    try {
+                        generator.writeObject(user);
+                        generator.writeRaw('\n');
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Same export as CSV with a header row; roles are separated by {@code |} as in imports.
+     */
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsersCsv() {
+        log.info("GET /api/users/export - Export users as CSV");
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write("id,email,firstName,lastName,roles,enabled,createdAt,updatedAt\r\n");
+            userService.exportUsers(user -> {
+                try {
+                    writer.write(user.getId() + "," + csv(user.getEmail()) + "," + csv(user.getFirstName()) + ","
+                            + csv(user.getLastName()) + "," + csv(String.join("|", user.getRoles())) + ","
+                            + user.getEnabled() + "," + user.getCreatedAt() + ","
+                            + (user.getUpdatedAt() == null ? "" : user.getUpdatedAt()) + "\r\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users.csv")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
         log.info("GET /api/users/{} - Get user by ID", id);
@@ -58,6 +163,47 @@ public class UserController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Imports users from CSV or NDJSON, streaming back one NDJSON line per rejected row, a
+     * progress line per chunk and a final summary.
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) throws IOException {
+        log.info("POST /api/users/import - Import users from {}", contentType);
+
+        // Reading the CSV header here rejects a malformed file before the response starts
+        UserImportReader reader = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                ? UserImportReader.csv(body)
+                : UserImportReader.ndjson(body, objectMapper);
+
+        StreamingResponseBody response = outputStream -> {
+            try (reader; JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                UserImportProgress summary = userImportService.importUsers(reader, progress -> {
+                    try {
+                        generator.writeObject(progress);
+                        generator.writeRaw('\n');
+                        if (progress.getType() != UserImportProgress.Type.ERROR) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeObject(summary);
+                generator.writeRaw('\n');
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long id,
@@ -84,4 +230,11 @@ public class UserController {
         UserResponse response = userService.getUserByEmail(email);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
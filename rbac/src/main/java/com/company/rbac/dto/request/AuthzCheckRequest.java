@@ -0,0 +1,42 @@
+package com.company.rbac.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthzCheckRequest {
+
+    @NotEmpty(message = "At least one check is required")
+    @Size(max = 10000, message = "A batch must not exceed 10000 checks")
+    private List<@Valid Check> checks;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Check {
+
+        @NotBlank(message = "Subject is required")
+        @Email(message = "Subject must be a user email")
+        private String subject;
+
+        private String permission;
+
+        private String role;
+
+        @AssertTrue(message = "Exactly one of permission or role is required")
+        private boolean isTargetValid() {
+            return (permission == null || permission.isBlank()) != (role == null || role.isBlank());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.company.rbac.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionCreateRequest {
+
+    @NotBlank(message = "Permission name is required")
+    @Size(min = 3, max = 100, message = "Permission name must be between 3 and 100 characters")
+    @Pattern(regexp = "^[a-z0-9-]+:[a-z0-9-]+$", message = "Permission name must look like resource:action")
+    private String name;
+
+    @Size(max = 255, message = "Description must not exceed 255 characters")
+    private String description;
+}
@@ -0,0 +1,28 @@
+package com.company.rbac.dto.request;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleMembershipBatchRequest {
+
+    @Size(max = 10000, message = "A batch must not add more than 10000 users")
+    private List<@NotNull Long> add = new ArrayList<>();
+
+    @Size(max = 10000, message = "A batch must not remove more than 10000 users")
+    private List<@NotNull Long> remove = new ArrayList<>();
+
+    @AssertTrue(message = "At least one user to add or remove is required")
+    private boolean isNotEmpty() {
+        return (add != null && !add.isEmpty()) || (remove != null && !remove.isEmpty());
+    }
+}
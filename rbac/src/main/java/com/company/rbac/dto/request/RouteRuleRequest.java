@@ -0,0 +1,29 @@
+package com.company.rbac.dto.request;
+
+import com.company.rbac.entity.RouteRule;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteRuleRequest {
+
+    @NotBlank(message = "Pattern is required")
+    @Size(max = 255, message = "Pattern must not exceed 255 characters")
+    private String pattern;
+
+    @Pattern(regexp = "^(GET|HEAD|POST|PUT|PATCH|DELETE|OPTIONS)$", message = "Unsupported HTTP method")
+    private String httpMethod;
+
+    @NotNull(message = "Access is required")
+    private RouteRule.Access access;
+
+    @Size(max = 255, message = "Value must not exceed 255 characters")
+    private String value;
+}
@@ -0,0 +1,71 @@
+package com.company.rbac.dto.request;
+
+import com.company.rbac.security.CalibratedBCryptPasswordEncoder;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * One user of a bulk import. Either a plain {@code password} or an existing BCrypt
+ * {@code passwordHash} (for users migrated from another system) is required. Roles are given by
+ * name; users without roles get {@code USER}. Hashes must use a cost the encoder accepts, so an
+ * imported hash can neither be trivially cheap to crack nor stall every login that verifies it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRow {
+
+    private static final java.util.regex.Pattern BCRYPT_COST = java.util.regex.Pattern.compile("\\$2[aby]?\\$(\\d{2})\\$");
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email must be valid")
+    @Size(max = 255, message = "Email must be at most 255 characters")
+    private String email;
+
+    @Size(min = 8, message = "Password must be at least 8 characters")
+    private String password;
+
+    @Pattern(regexp = "\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}", message = "Password hash must be a BCrypt hash")
+    private String passwordHash;
+
+    @NotBlank(message = "First name is required")
+    @Size(min = 2, max = 100, message = "First name must be between 2 and 100 characters")
+    private String firstName;
+
+    @NotBlank(message = "Last name is required")
+    @Size(min = 2, max = 100, message = "Last name must be between 2 and 100 characters")
+    private String lastName;
+
+    private List<String> roles;
+
+    @AssertTrue(message = "Exactly one of password or passwordHash is required")
+    private boolean isPasswordValid() {
+        return (password == null) != (passwordHash == null);
+    }
+
+    @AssertTrue(message = "Password hash cost must be between " + CalibratedBCryptPasswordEncoder.MIN_STRENGTH
+            + " and " + CalibratedBCryptPasswordEncoder.MAX_STRENGTH)
+    private boolean isPasswordHashCostValid() {
+        if (passwordHash == null) {
+            return true;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(passwordHash);
+        if (!matcher.lookingAt()) {
+            // Reported by the format check
+            return true;
+        }
+        int cost = Integer.parseInt(matcher.group(1));
+        return cost >= CalibratedBCryptPasswordEncoder.MIN_STRENGTH && cost <= CalibratedBCryptPasswordEncoder.MAX_STRENGTH;
+    }
+}
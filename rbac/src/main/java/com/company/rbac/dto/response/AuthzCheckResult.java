@@ -0,0 +1,20 @@
+package com.company.rbac.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuthzCheckResult {
+    private int index;
+    private String subject;
+    private String permission;
+    private String role;
+    private boolean allowed;
+}
@@ -0,0 +1,56 @@
+package com.company.rbac.dto.response;
+
+import com.company.rbac.security.IntrospectedToken;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Token introspection result in the shape of RFC 7662. Inactive tokens only carry
+ * {@code "active": false}, so callers learn nothing about why a token was rejected.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponse {
+
+    private static final IntrospectionResponse INACTIVE = IntrospectionResponse.builder().active(false).build();
+
+    private boolean active;
+
+    @JsonProperty("token_type")
+    private String tokenType;
+
+    private String sub;
+    private String username;
+    private List<String> roles;
+    private Long iat;
+    private Long exp;
+    private String jti;
+
+    public static IntrospectionResponse inactive() {
+        return INACTIVE;
+    }
+
+    public static IntrospectionResponse fromToken(IntrospectedToken token) {
+        boolean access = token.getType() == IntrospectedToken.Type.ACCESS;
+
+        return IntrospectionResponse.builder()
+                .active(true)
+                .tokenType(access ? "access_token" : "refresh_token")
+                .sub(token.getSubject())
+                .username(token.getSubject())
+                .roles(access ? token.getRoles() : null)
+                .iat(token.getIssuedAt())
+                .exp(token.getExpiresAt())
+                .jti(token.getTokenId())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.company.rbac.dto.response;
+
+import com.company.rbac.entity.Permission;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private LocalDateTime createdAt;
+
+    public static PermissionResponse fromEntity(Permission permission) {
+        return PermissionResponse.builder()
+                .id(permission.getId())
+                .name(permission.getName())
+                .description(permission.getDescription())
+                .createdAt(permission.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.company.rbac.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleMembershipBatchResponse {
+    private Long roleId;
+    private String roleName;
+    private int added;
+    private int removed;
+    private int failed;
+    private List<Item> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long userId;
+        private Action action;
+        private Status status;
+    }
+
+    public enum Action {
+        ADD, REMOVE
+    }
+
+    public enum Status {
+        ADDED, REMOVED, ALREADY_MEMBER, NOT_MEMBER, USER_NOT_FOUND, LAST_ROLE, CONFLICT
+    }
+}
@@ -1,5 +1,6 @@
 package com.company.rbac.dto.response;
 
+import com.company.rbac.entity.Permission;
 import com.company.rbac.entity.Role;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Data
 @Builder
@@ -16,6 +19,8 @@ public class RoleResponse {
     private Long id;
     private String name;
     private String description;
+    private Set<String> permissions;
+    private Set<String> inheritedRoles;
     private LocalDateTime createdAt;
 
     public static RoleResponse fromEntity(Role role) {
@@ -23,6 +28,12 @@ public class RoleResponse {
                 .id(role.getId())
                 .name(role.getName())
                 .description(role.getDescription())
+                .permissions(role.getPermissions().stream()
+                        .map(Permission::getName)
+                        .collect(Collectors.toSet()))
+                .inheritedRoles(role.getInheritedRoles().stream()
+                        .map(Role::getName)
+                        .collect(Collectors.toSet()))
                 .createdAt(role.getCreatedAt())
                 .build();
     }
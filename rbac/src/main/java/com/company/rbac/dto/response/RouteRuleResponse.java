@@ -0,0 +1,35 @@
+package com.company.rbac.dto.response;
+
+import com.company.rbac.entity.RouteRule;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteRuleResponse {
+    private Long id;
+    private String pattern;
+    private String httpMethod;
+    private RouteRule.Access access;
+    private String value;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static RouteRuleResponse fromEntity(RouteRule rule) {
+        return RouteRuleResponse.builder()
+                .id(rule.getId())
+                .pattern(rule.getPattern())
+                .httpMethod(rule.getHttpMethod())
+                .access(rule.getAccess())
+                .value(rule.getValue())
+                .createdAt(rule.getCreatedAt())
+                .updatedAt(rule.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.company.rbac.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a streamed import report: a rejected row, a progress update after each chunk, or
+ * the final summary.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportProgress {
+    private Type type;
+    private Long line;
+    private String email;
+    private String message;
+    private Long processed;
+    private Long imported;
+    private Long failed;
+    private Long elapsedMillis;
+
+    public enum Type {
+        ERROR, PROGRESS, SUMMARY
+    }
+
+    public static UserImportProgress error(long line, String email, String message) {
+        return UserImportProgress.builder()
+                .type(Type.ERROR)
+                .line(line)
+                .email(email)
+                .message(message)
+                .build();
+    }
+}
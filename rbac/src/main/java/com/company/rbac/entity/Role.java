@@ -31,9 +31,25 @@ public class Role {
     @Column(length = 255)
     private String description;
 
-    @ManyToMany(mappedBy = "roles")
+    // No inverse User collection: membership can be huge and is only ever queried through user_roles
+    @ManyToMany
+    @JoinTable(
+            name = "role_permissions",
+            joinColumns = @JoinColumn(name = "role_id"),
+            inverseJoinColumns = @JoinColumn(name = "permission_id")
+    )
     @Builder.Default
-    private Set<User> users = new HashSet<>();
+    private Set<Permission> permissions = new HashSet<>();
+
+    // Roles whose permissions this role also grants, e.g. ADMIN inherits MANAGER
+    @ManyToMany
+    @JoinTable(
+            name = "role_inherits",
+            joinColumns = @JoinColumn(name = "role_id"),
+            inverseJoinColumns = @JoinColumn(name = "inherited_role_id")
+    )
+    @Builder.Default
+    private Set<Role> inheritedRoles = new HashSet<>();
 
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
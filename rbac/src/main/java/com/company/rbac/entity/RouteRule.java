@@ -0,0 +1,57 @@
+package com.company.rbac.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * URL authorization rule. {@code pattern} is a path of literal segments, where {@code *} matches
+ * one segment and a trailing {@code **} matches any remainder. A null {@code httpMethod} applies
+ * the rule to every method.
+ */
+@Entity
+@Table(name = "route_rules", indexes = {
+        @Index(name = "idx_route_rules_pattern_method", columnList = "pattern, http_method", unique = true)
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RouteRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 255)
+    private String pattern;
+
+    @Column(name = "http_method", length = 10)
+    private String httpMethod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Access access;
+
+    // Comma-separated role names for HAS_ANY_ROLE, or a single permission for HAS_PERMISSION
+    @Column(name = "access_value", length = 255)
+    private String value;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Access {
+        PERMIT_ALL, AUTHENTICATED, HAS_ANY_ROLE, HAS_PERMISSION, DENY_ALL
+    }
+}
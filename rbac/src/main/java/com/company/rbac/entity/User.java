@@ -12,7 +12,11 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users", indexes = {
-        @Index(name = "idx_users_email", columnList = "email")
+        @Index(name = "idx_users_email", columnList = "email"),
+        // Keyset pagination seeks on (sort column, id) for each sortable column
+        @Index(name = "idx_users_first_name", columnList = "first_name, id"),
+        @Index(name = "idx_users_last_name", columnList = "last_name, id"),
+        @Index(name = "idx_users_created_at", columnList = "created_at, id")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -22,8 +26,21 @@ import java.util.Set;
 @Builder
 public class User {
 
+    public static final String ID_GENERATOR_TABLE = "id_generators";
+    public static final String ID_GENERATOR_SEGMENT = "users";
+
+    // Ids come from a table generator in blocks of 50 (pooled-lo) so Hibernate can batch inserts,
+    // which IDENTITY prevents; IdGeneratorInitializer aligns the block start with existing rows
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(
+            name = "user_id",
+            table = ID_GENERATOR_TABLE,
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = ID_GENERATOR_SEGMENT,
+            allocationSize = 50
+    )
     private Long id;
 
     @Column(nullable = false, unique = true, length = 255)
@@ -42,6 +59,11 @@ public class User {
     @Builder.Default
     private Boolean enabled = true;
 
+    // Bumped on every security-relevant change; access tokens carrying an older value are rejected
+    @Column(name = "security_epoch", nullable = false)
+    @Builder.Default
+    private Long securityEpoch = 0L;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
             name = "user_roles",
@@ -61,11 +83,9 @@ public class User {
 
     public void addRole(Role role) {
         this.roles.add(role);
-        role.getUsers().add(this);
     }
 
     public void removeRole(Role role) {
         this.roles.remove(role);
-        role.getUsers().remove(this);
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.company.rbac.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when the permissions or inherited roles of a role change. {@code roleName} is null
+ * when the change touched several roles at once, such as deleting a permission.
+ */
+@Getter
+@AllArgsConstructor
+public class RoleHierarchyChangedEvent {
+    private final String roleName;
+}
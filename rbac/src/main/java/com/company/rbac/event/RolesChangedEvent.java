@@ -0,0 +1,13 @@
+package com.company.rbac.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a role is created or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class RolesChangedEvent {
+    private final String roleName;
+}
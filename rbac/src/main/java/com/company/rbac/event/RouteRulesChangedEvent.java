@@ -0,0 +1,13 @@
+package com.company.rbac.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a URL authorization rule is created, updated or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class RouteRulesChangedEvent {
+    private final Long ruleId;
+}
@@ -0,0 +1,25 @@
+package com.company.rbac.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published whenever a change to users affects what their issued tokens are allowed to do
+ * (account disabled, user deleted, role assigned or revoked). Bulk changes publish one event for
+ * the whole batch; {@code userIds} and {@code emails} are parallel lists.
+ */
+@Getter
+public class UserSecurityChangedEvent {
+    private final List<Long> userIds;
+    private final List<String> emails;
+
+    public UserSecurityChangedEvent(Long userId, String email) {
+        this(List.of(userId), List.of(email));
+    }
+
+    public UserSecurityChangedEvent(List<Long> userIds, List<String> emails) {
+        this.userIds = List.copyOf(userIds);
+        this.emails = List.copyOf(emails);
+    }
+}
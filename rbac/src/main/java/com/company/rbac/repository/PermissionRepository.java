@@ -0,0 +1,21 @@
+package com.company.rbac.repository;
+
+import com.company.rbac.entity.Permission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PermissionRepository extends JpaRepository<Permission, Long> {
+
+    Optional<Permission> findByName(String name);
+
+    Boolean existsByName(String name);
+
+    @Modifying
+    @Query(value = "DELETE FROM role_permissions WHERE permission_id = :permissionId", nativeQuery = true)
+    void removeFromAllRoles(Long permissionId);
+}
@@ -1,9 +1,14 @@
 package com.company.rbac.repository;
 
 import com.company.rbac.entity.Role;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,57 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(String name);
 
     Boolean existsByName(String name);
-}
\ No newline at end of file
+
+    /**
+     * Loads the role and locks its row until commit, excluding membership writes and hierarchy
+     * edits that hold the row while it is deleted or changed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Role r WHERE r.id = :id")
+    Optional<Role> findByIdForUpdate(Long id);
+
+    /**
+     * Loads the role with a shared row lock until commit, so the role cannot be deleted while its
+     * user_roles rows are written; concurrent membership writers do not block each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT r FROM Role r WHERE r.id = :id")
+    Optional<Role> findByIdForShare(Long id);
+
+    /**
+     * Locks every role row until commit, in id order. Hierarchy edits take this lock so that two
+     * of them never check for cycles against a graph missing the other's edge; there are at most
+     * {@code RoleRegistry.MAX_ROLES} rows.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Role r ORDER BY r.id")
+    List<Role> findAllForUpdate();
+
+    @Query("SELECT r.name AS role, p.name AS permission FROM Role r JOIN r.permissions p")
+    List<RolePermission> findAllRolePermissions();
+
+    @Query("SELECT r.name AS role, i.name AS inheritedRole FROM Role r JOIN r.inheritedRoles i")
+    List<RoleInheritance> findAllRoleInheritance();
+
+    @Query("SELECT p.name FROM Role r JOIN r.permissions p WHERE r.name = :roleName")
+    List<String> findPermissionNames(String roleName);
+
+    @Query("SELECT i.name FROM Role r JOIN r.inheritedRoles i WHERE r.name = :roleName")
+    List<String> findInheritedRoleNames(String roleName);
+
+    @Modifying
+    @Query(value = "DELETE FROM role_inherits WHERE inherited_role_id = :roleId", nativeQuery = true)
+    void removeFromAllInheritingRoles(Long roleId);
+
+    interface RolePermission {
+        String getRole();
+
+        String getPermission();
+    }
+
+    interface RoleInheritance {
+        String getRole();
+
+        String getInheritedRole();
+    }
+}
@@ -0,0 +1,11 @@
+package com.company.rbac.repository;
+
+import com.company.rbac.entity.RouteRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RouteRuleRepository extends JpaRepository<RouteRule, Long> {
+
+    Boolean existsByPatternAndHttpMethod(String pattern, String httpMethod);
+}
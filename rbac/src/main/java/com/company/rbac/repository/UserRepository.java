@@ -1,19 +1,111 @@
 package com.company.rbac.repository;
 
 import com.company.rbac.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    /**
+     * Keyset-paginated listing: seeks past the position instead of skipping rows, and runs no count query.
+     */
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
     Boolean existsByEmail(String email);
 
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
     @Query("SELECT u FROM User u JOIN FETCH u.roles WHERE u.email = :email")
     Optional<User> findByEmailWithRoles(String email);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.securityEpoch = u.securityEpoch + 1 WHERE u.id IN :ids")
+    int incrementSecurityEpochs(Collection<Long> ids);
+
+    @Query("SELECT u.id AS id, u.securityEpoch AS securityEpoch FROM User u WHERE u.id IN :ids")
+    List<UserEpoch> findSecurityEpochs(Collection<Long> ids);
+
+    @Query("SELECT u.id AS id, u.securityEpoch AS securityEpoch FROM User u")
+    List<UserEpoch> findAllSecurityEpochs();
+
+    /**
+     * Loads the user and locks its row until commit, serialising concurrent role changes for that user.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(Long id);
+
+    boolean existsByRolesId(Long roleId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO user_roles (user_id, role_id) VALUES (:userId, :roleId)", nativeQuery = true)
+    int addRole(Long userId, Long roleId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM user_roles WHERE user_id = :userId AND role_id = :roleId", nativeQuery = true)
+    int removeRole(Long userId, Long roleId);
+
+    /**
+     * Every user with each of its role names, one row per role, ordered by user id so a user's
+     * rows are adjacent. Rows are scalar, so nothing is added to the persistence context, and
+     * a fetch size of {@code Integer.MIN_VALUE} makes MySQL Connector/J stream them one at a time
+     * instead of buffering the result. The stream must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.id AS id, u.email AS email, u.firstName AS firstName, u.lastName AS lastName, "
+            + "u.enabled AS enabled, u.createdAt AS createdAt, u.updatedAt AS updatedAt, r.name AS role "
+            + "FROM User u LEFT JOIN u.roles r ORDER BY u.id, r.name")
+    Stream<UserRoleRow> streamAllWithRoleNames();
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePassword(String email, String password);
+
+    interface UserRoleRow {
+        Long getId();
+
+        String getEmail();
+
+        String getFirstName();
+
+        String getLastName();
+
+        Boolean getEnabled();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getUpdatedAt();
+
+        String getRole();
+    }
+
+    interface UserEpoch {
+        Long getId();
+
+        Long getSecurityEpoch();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.company.rbac.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based reads and JDBC-batched writes on {@code user_roles} for bulk membership changes,
+ * without loading {@code User} or {@code Role} entities. Id lists are processed in chunks of
+ * {@link #CHUNK_SIZE}, both as {@code IN} lists and as JDBC batches; with
+ * {@code rewriteBatchedStatements=true} the MySQL driver sends each batch as one multi-row statement.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserRoleBatchRepository {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the rows of the given users until commit and returns their emails by id; unknown ids
+     * are absent. Rows are locked in id order so concurrent batches cannot deadlock each other.
+     */
+    public Map<Long, String> lockUsers(Collection<Long> userIds) {
+        Map<Long, String> emails = new HashMap<>();
+        for (List<Long> chunk : chunks(userIds.stream().sorted().toList())) {
+            jdbcTemplate.query("SELECT id, email FROM users WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                    Map.of("ids", chunk),
+                    rs -> {
+                        emails.put(rs.getLong("id"), rs.getString("email"));
+                    });
+        }
+        return emails;
+    }
+
+    /**
+     * The subset of the given users holding the role.
+     */
+    public Set<Long> findMembers(long roleId, Collection<Long> userIds) {
+        Set<Long> members = new HashSet<>();
+        for (List<Long> chunk : chunks(userIds)) {
+            members.addAll(jdbcTemplate.queryForList(
+                    "SELECT user_id FROM user_roles WHERE role_id = :roleId AND user_id IN (:ids)",
+                    Map.of("roleId", roleId, "ids", chunk),
+                    Long.class));
+        }
+        return members;
+    }
+
+    /**
+     * Number of roles held by each of the given users; users without roles are absent.
+     */
+    public Map<Long, Integer> countRoles(Collection<Long> userIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (List<Long> chunk : chunks(userIds)) {
+            jdbcTemplate.query("SELECT user_id, COUNT(*) AS roles FROM user_roles WHERE user_id IN (:ids) GROUP BY user_id",
+                    Map.of("ids", chunk),
+                    rs -> {
+                        counts.put(rs.getLong("user_id"), rs.getInt("roles"));
+                    });
+        }
+        return counts;
+    }
+
+    public void insert(long roleId, Collection<Long> userIds) {
+        jdbcTemplate.getJdbcOperations().batchUpdate(
+                "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)",
+                userIds, CHUNK_SIZE,
+                (ps, userId) -> {
+                    ps.setLong(1, userId);
+                    ps.setLong(2, roleId);
+                });
+    }
+
+    public void delete(long roleId, Collection<Long> userIds) {
+        jdbcTemplate.getJdbcOperations().batchUpdate(
+                "DELETE FROM user_roles WHERE user_id = ? AND role_id = ?",
+                userIds, CHUNK_SIZE,
+                (ps, userId) -> {
+                    ps.setLong(1, userId);
+                    ps.setLong(2, roleId);
+                });
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> list = List.copyOf(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += CHUNK_SIZE) {
+            chunks.add(list.subList(from, Math.min(from + CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+}
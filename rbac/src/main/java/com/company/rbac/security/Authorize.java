@@ -0,0 +1,24 @@
+package com.company.rbac.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Method authorization rule compiled once at startup by {@link AuthorizeExpressionCompiler}
+ * instead of being evaluated as SpEL on every call. Supports {@code hasRole}, {@code hasAnyRole},
+ * {@code hasAuthority}, {@code hasAnyAuthority}, {@code isAuthenticated()}, {@code permitAll},
+ * {@code denyAll}, combined with {@code and}, {@code or}, {@code not} and parentheses. A
+ * method-level annotation overrides one on the class.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface Authorize {
+
+    String value();
+}
@@ -0,0 +1,73 @@
+package com.company.rbac.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Enforces {@link Authorize} rules. Every bean is scanned as it is created and each annotated
+ * method's rule is compiled once, so an invalid rule fails startup and each call costs a map
+ * lookup plus the compiled predicate.
+ */
+@Slf4j
+public class AuthorizeAuthorizationManager implements AuthorizationManager<MethodInvocation>, BeanPostProcessor {
+
+    private static final Predicate<Authentication> NO_RULE = auth -> true;
+
+    private final Map<Method, Predicate<Authentication>> rules = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        Class<?> beanClass = ClassUtils.getUserClass(bean);
+        try {
+            ReflectionUtils.doWithMethods(beanClass, method -> rules.computeIfAbsent(method, m -> compile(m, beanClass)),
+                    method -> AnnotatedElementUtils.hasAnnotation(method, Authorize.class)
+                            || AnnotatedElementUtils.hasAnnotation(method.getDeclaringClass(), Authorize.class));
+        } catch (IllegalArgumentException e) {
+            throw new BeanInitializationException("Invalid @Authorize rule on bean '" + beanName + "': " + e.getMessage(), e);
+        }
+        return bean;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+
+        Predicate<Authentication> rule = rules.get(method);
+        if (rule == null) {
+            // Beans created before this processor was registered were not scanned
+            rule = rules.computeIfAbsent(method, m -> compile(m, targetClass));
+        }
+        return new AuthorizationDecision(rule.test(authentication.get()));
+    }
+
+    private static Predicate<Authentication> compile(Method method, Class<?> targetClass) {
+        Authorize annotation = AnnotatedElementUtils.findMergedAnnotation(method, Authorize.class);
+        if (annotation == null && targetClass != null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, Authorize.class);
+        }
+        if (annotation == null) {
+            return NO_RULE;
+        }
+
+        Predicate<Authentication> rule = AuthorizeExpressionCompiler.compile(annotation.value());
+        log.debug("Compiled @Authorize(\"{}\") for {}", annotation.value(), method);
+        return rule;
+    }
+}
@@ -0,0 +1,231 @@
+package com.company.rbac.security;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Recursive-descent compiler turning an {@link Authorize} expression into a plain predicate over
+ * the current authentication. Authority checks against {@link RbacPrincipal} are hash lookups on
+ * its precomputed authority names.
+ */
+public final class AuthorizeExpressionCompiler {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final String expression;
+    private int position;
+
+    private AuthorizeExpressionCompiler(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * Compiles the expression, throwing {@link IllegalArgumentException} if it is not valid.
+     */
+    public static Predicate<Authentication> compile(String expression) {
+        AuthorizeExpressionCompiler compiler = new AuthorizeExpressionCompiler(expression);
+        Predicate<Authentication> rule = compiler.parseOr();
+        compiler.skipWhitespace();
+        if (compiler.position != expression.length()) {
+            throw compiler.error("Unexpected input");
+        }
+        return rule;
+    }
+
+    private Predicate<Authentication> parseOr() {
+        Predicate<Authentication> left = parseAnd();
+        while (acceptWord("or") || accept("||")) {
+            left = left.or(parseAnd());
+        }
+        return left;
+    }
+
+    private Predicate<Authentication> parseAnd() {
+        Predicate<Authentication> left = parseUnary();
+        while (acceptWord("and") || accept("&&")) {
+            left = left.and(parseUnary());
+        }
+        return left;
+    }
+
+    private Predicate<Authentication> parseUnary() {
+        if (acceptWord("not") || accept("!")) {
+            return parseUnary().negate();
+        }
+        if (accept("(")) {
+            Predicate<Authentication> inner = parseOr();
+            expect(")");
+            return inner;
+        }
+        return parseFunction();
+    }
+
+    private Predicate<Authentication> parseFunction() {
+        String name = identifier();
+        return switch (name) {
+            case "permitAll" -> {
+                optionalEmptyArguments();
+                yield auth -> true;
+            }
+            case "denyAll" -> {
+                optionalEmptyArguments();
+                yield auth -> false;
+            }
+            case "isAuthenticated" -> {
+                arguments(0);
+                yield AuthorizeExpressionCompiler::isAuthenticated;
+            }
+            case "hasRole" -> anyOf(prefixRoles(arguments(1)));
+            case "hasAnyRole" -> anyOf(prefixRoles(arguments(-1)));
+            case "hasAuthority" -> anyOf(arguments(1));
+            case "hasAnyAuthority" -> anyOf(arguments(-1));
+            default -> throw error("Unknown function '" + name + "'");
+        };
+    }
+
+    private static Predicate<Authentication> anyOf(List<String> authorities) {
+        if (authorities.size() == 1) {
+            String authority = authorities.get(0);
+            return auth -> isAuthenticated(auth) && hasAuthority(auth, authority);
+        }
+
+        String[] required = authorities.toArray(String[]::new);
+        return auth -> {
+            if (!isAuthenticated(auth)) {
+                return false;
+            }
+            for (String authority : required) {
+                if (hasAuthority(auth, authority)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static boolean hasAuthority(Authentication auth, String authority) {
+        if (auth.getPrincipal() instanceof RbacPrincipal principal) {
+            return principal.hasAuthority(authority);
+        }
+        for (GrantedAuthority granted : auth.getAuthorities()) {
+            if (authority.equals(granted.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAuthenticated(Authentication auth) {
+        return auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken);
+    }
+
+    private static List<String> prefixRoles(List<String> roles) {
+        return roles.stream()
+                .map(role -> role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role)
+                .toList();
+    }
+
+    /**
+     * Parses a parenthesised list of string literals; {@code count} of -1 means one or more.
+     */
+    private List<String> arguments(int count) {
+        expect("(");
+        List<String> arguments = new ArrayList<>();
+        if (!accept(")")) {
+            do {
+                arguments.add(stringLiteral());
+            } while (accept(","));
+            expect(")");
+        }
+
+        if (count >= 0 ? arguments.size() != count : arguments.isEmpty()) {
+            throw error("Wrong number of arguments");
+        }
+        if (Set.copyOf(arguments).size() != arguments.size()) {
+            throw error("Duplicate arguments");
+        }
+        return arguments;
+    }
+
+    private void optionalEmptyArguments() {
+        if (accept("(")) {
+            expect(")");
+        }
+    }
+
+    private String stringLiteral() {
+        skipWhitespace();
+        if (position >= expression.length()) {
+            throw error("Expected a string literal");
+        }
+        char quote = expression.charAt(position);
+        if (quote != '\'' && quote != '"') {
+            throw error("Expected a string literal");
+        }
+
+        int end = expression.indexOf(quote, position + 1);
+        if (end < 0) {
+            throw error("Unterminated string literal");
+        }
+        String value = expression.substring(position + 1, end);
+        if (value.isBlank()) {
+            throw error("Empty string literal");
+        }
+        position = end + 1;
+        return value;
+    }
+
+    private String identifier() {
+        skipWhitespace();
+        int start = position;
+        while (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position))) {
+            position++;
+        }
+        if (start == position) {
+            throw error("Expected a function name");
+        }
+        return expression.substring(start, position);
+    }
+
+    private boolean acceptWord(String word) {
+        skipWhitespace();
+        int end = position + word.length();
+        if (expression.startsWith(word, position)
+                && (end == expression.length() || !Character.isJavaIdentifierPart(expression.charAt(end)))) {
+            position = end;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean accept(String token) {
+        skipWhitespace();
+        if (expression.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw error("Expected '" + token + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in: " + expression);
+    }
+}
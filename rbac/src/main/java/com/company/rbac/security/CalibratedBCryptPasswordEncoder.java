@@ -0,0 +1,50 @@
+package com.company.rbac.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder whose cost can be calibrated to this machine at startup. Stored hashes with a
+ * lower cost are upgraded on the next successful login by {@link BCryptPasswordEncoder#upgradeEncoding};
+ * stronger hashes are kept.
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+
+    private static final String CALIBRATION_PASSWORD = "calibration-Passw0rd!";
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+    }
+
+    /**
+     * Picks the strongest cost whose hash time on this machine fits within the given budget, but
+     * never less than {@code minimumStrength}, so a slow or busy machine cannot weaken hashing
+     * below the configured cost. The cost at {@link #MIN_STRENGTH} is measured and the rest
+     * extrapolated, since every extra cost step doubles the work.
+     */
+    public static CalibratedBCryptPasswordEncoder calibrate(long targetMillis, int minimumStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode(CALIBRATION_PASSWORD); // warm up
+
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode(CALIBRATION_PASSWORD);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+
+        double baseMillis = fastestNanos / 1_000_000.0;
+        int strength = Math.min(Math.max(minimumStrength, MIN_STRENGTH), MAX_STRENGTH);
+        while (strength < MAX_STRENGTH && baseMillis * (1L << (strength + 1 - MIN_STRENGTH)) <= targetMillis) {
+            strength++;
+        }
+
+        log.info("BCrypt calibrated to cost {} (~{} ms per hash, budget {} ms)",
+                strength, Math.round(baseMillis * (1L << (strength - MIN_STRENGTH))), targetMillis);
+        return new CalibratedBCryptPasswordEncoder(strength);
+    }
+}
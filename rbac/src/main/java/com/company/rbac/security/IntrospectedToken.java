@@ -0,0 +1,29 @@
+package com.company.rbac.security;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Token state that does not change over the token's lifetime, cached by
+ * {@link IntrospectionCache}. Revocation is checked separately on every introspection.
+ * Timestamps are epoch seconds.
+ */
+@Value
+@Builder
+public class IntrospectedToken {
+
+    public enum Type {
+        ACCESS, REFRESH
+    }
+
+    Type type;
+    String tokenId;
+    String subject;
+    long userId;
+    long epoch;
+    List<String> roles;
+    long issuedAt;
+    long expiresAt;
+}
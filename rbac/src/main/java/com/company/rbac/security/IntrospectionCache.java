@@ -0,0 +1,160 @@
+package com.company.rbac.security;
+
+import com.company.rbac.event.UserSecurityChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Results of token introspection, keyed by the SHA-256 digest of the token. Each entry lives no
+ * longer than the token itself, and the cache is bounded by size. Refresh-token entries are
+ * dropped when the token is revoked or its user's security changes, and are then reloaded so the
+ * user's current state decides.
+ * <p>
+ * Tokens that were not valid are cached too, for a short time, so repeating a bogus or revoked
+ * token does not reach the database each time.
+ * <p>
+ * A load that overlaps an invalidation may have read the token before the revocation committed,
+ * so every invalidation bumps a generation counter first and a load whose generation moved
+ * underneath it does not keep its entry. The same bump retires every negative entry, since an
+ * unknown token may have just been issued or its user re-enabled.
+ */
+@Component
+public class IntrospectionCache {
+
+    private final Cache<String, Entry> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public IntrospectionCache(
+            MeterRegistry meterRegistry,
+            @Value("${jwt.introspection-cache.maximum-size:10000}") long maximumSize,
+            @Value("${jwt.introspection-cache.negative-ttl-seconds:30}") long negativeTtlSeconds
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireAtTokenExpiry(Duration.ofSeconds(negativeTtlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "token-introspections");
+    }
+
+    /**
+     * Returns the cached state of the token, or loads it with the given function. A null result
+     * means the token is not valid.
+     */
+    public IntrospectedToken get(String token, Function<String, IntrospectedToken> loader) {
+        String digest = VerifiedTokenCache.digest(token);
+
+        Entry cached = cache.getIfPresent(digest);
+        if (cached != null && (cached.token() != null || cached.generation() == generation.get())) {
+            return cached.token();
+        }
+
+        long loadGeneration = generation.get();
+        Entry loaded = new Entry(loader.apply(token), loadGeneration);
+        cache.put(digest, loaded);
+        // An invalidation either bumped the generation before this check, or removes the entry
+        // after the put
+        if (generation.get() != loadGeneration) {
+            cache.asMap().remove(digest, loaded);
+        }
+
+        return loaded.token();
+    }
+
+    /**
+     * Drops a refresh token once the current transaction commits, or immediately if there is none.
+     */
+    public void invalidateAfterCommit(String token) {
+        String digest = VerifiedTokenCache.digest(token);
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            cache.invalidate(digest);
+        });
+    }
+
+    /**
+     * Drops every cached refresh token of the user once the current transaction commits.
+     */
+    public void invalidateRefreshTokensAfterCommit(long userId) {
+        afterCommit(() -> invalidateRefreshTokens(Set.of(userId)));
+    }
+
+    /**
+     * Drops the refresh tokens of users whose account was disabled, deleted or had its roles
+     * changed, once that change has committed.
+     */
+    @TransactionalEventListener
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        invalidateRefreshTokens(Set.copyOf(event.getUserIds()));
+    }
+
+    private void invalidateRefreshTokens(Collection<Long> userIds) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(entry -> entry.token() != null
+                && entry.token().getType() == IntrospectedToken.Type.REFRESH
+                && userIds.contains(entry.token().getUserId()));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * A cached introspection; {@code token} is {@code null} for a token that was not valid, which
+     * only counts while {@code generation} is current.
+     */
+    private record Entry(IntrospectedToken token, long generation) {
+    }
+
+    private static class ExpireAtTokenExpiry implements Expiry<String, Entry> {
+
+        private final long negativeTtlNanos;
+
+        private ExpireAtTokenExpiry(Duration negativeTtl) {
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            if (entry.token() == null) {
+                return negativeTtlNanos;
+            }
+            long remainingMillis = entry.token().getExpiresAt() * 1000 - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package com.company.rbac.security;
 
-import com.company.rbac.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,8 +24,17 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserEpochRegistry userEpochRegistry;
+    private final TokenRevocationList tokenRevocationList;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwtVerifier jwtVerifier;
+    private final OpaqueTokenStore opaqueTokenStore;
+    private final RoleRegistry roleRegistry;
+    private final RoleHierarchyClosure roleHierarchyClosure;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(
@@ -38,26 +47,41 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = extractJwtFromRequest(request);
 
             if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                String userEmail = jwtService.extractUsername(jwt);
-
-                if (userEmail != null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-
-                    if (jwtService.validateToken(jwt, userDetails)) {
-                        UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails,
-                                        null,
-                                        userDetails.getAuthorities()
-                                );
-
-                        authentication.setDetails(
-                                new WebAuthenticationDetailsSource().buildDetails(request)
-                        );
-
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        log.debug("Set authentication for user: {}", userEmail);
-                    }
+                // Signature verification only happens on a cache miss; it also rejects expired tokens.
+                // Opaque tokens are accepted whatever jwt.token-format says, so switching modes keeps sessions valid.
+                VerifiedToken token = OpaqueTokenStore.isOpaque(jwt)
+                        ? opaqueTokenStore.find(jwt)
+                        : verifiedTokenCache.get(jwt, jwtVerifier::verify);
+                UserDetails userDetails;
+                if (token == null) {
+                    log.debug("Rejected unknown or expired opaque token");
+                    userDetails = null;
+                } else if (tokenRevocationList.isRevoked(token)) {
+                    log.debug("Rejected revoked token for user: {}", token.getSubject());
+                    userDetails = null;
+                } else if (!userEpochRegistry.isCurrent(token.getUserId(), token.getEpoch())) {
+                    log.debug("Rejected token issued before last security change for user: {}", token.getSubject());
+                    userDetails = null;
+                } else {
+                    userDetails = stateless
+                            ? resolveFromClaims(token)
+                            : userDetailsService.loadUserByUsername(token.getSubject());
+                }
+
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities()
+                            );
+
+                    authentication.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request)
+                    );
+
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Set authentication for user: {}", userDetails.getUsername());
                 }
             }
         } catch (Exception e) {
@@ -67,6 +91,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolveFromClaims(VerifiedToken token) {
+        return new RbacPrincipal(token.getUserId(), token.getSubject(), "", true, token.getEpoch(), token.getRoles(),
+                roleHierarchyClosure.expand(token.getRoles()), roleRegistry.snapshot());
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
 
@@ -76,4 +105,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         return null;
     }
-}
\ No newline at end of file
+}
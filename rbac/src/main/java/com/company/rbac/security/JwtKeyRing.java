@@ -0,0 +1,235 @@
+package com.company.rbac.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the keys used to sign and verify access tokens, loaded once at startup.
+ * <p>
+ * {@code jwt.algorithm} selects HS512 with the shared {@code jwt.secret}, or RS256/EdDSA with the
+ * PEM key pair at {@code jwt.private-key-location} and {@code jwt.public-key-location}. With an
+ * asymmetric algorithm the public keys are published as a JWK set, so other services can verify
+ * tokens locally without holding a secret or calling this service.
+ * <p>
+ * Tokens are signed with the active key and carry its id in the {@code kid} header. Keys listed
+ * in {@code jwt.previous-keys} (secrets for HS512, public key locations otherwise) are only used
+ * for verification, which allows a rolling rotation: add the new key as a previous key
+ * everywhere, promote it to active, then drop the old key once the tokens it signed have expired.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    public static final String HS512 = "HS512";
+    public static final String RS256 = "RS256";
+    public static final String EDDSA = "EdDSA";
+
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    @Getter
+    @Value("${jwt.algorithm:HS512}")
+    private String algorithm;
+
+    @Value("${jwt.secret}")
+    private String activeSecret;
+
+    @Value("${jwt.private-key-location:}")
+    private String privateKeyLocation;
+
+    @Value("${jwt.public-key-location:}")
+    private String publicKeyLocation;
+
+    @Getter
+    @Value("${jwt.key-id:primary}")
+    private String activeKeyId;
+
+    @Value("${jwt.previous-keys:}")
+    private String previousKeys;
+
+    private Map<String, Key> keys;
+
+    @Getter
+    private Key activeKey;
+
+    @Getter
+    private JwtParser parser;
+
+    /**
+     * Public keys as a JWK set document; empty for HS512, whose keys must never leave the service.
+     */
+    @Getter
+    private String jwkSetJson;
+
+    @PostConstruct
+    void init() {
+        Map<String, Key> loaded = new LinkedHashMap<>();
+
+        switch (algorithm) {
+            case HS512 -> {
+                activeKey = toSecretKey(activeSecret);
+                loaded.put(activeKeyId, activeKey);
+            }
+            case RS256, EDDSA -> {
+                KeyPair keyPair = loadKeyPair();
+                activeKey = keyPair.getPrivate();
+                loaded.put(activeKeyId, keyPair.getPublic());
+            }
+            default -> throw new IllegalStateException("Unsupported jwt.algorithm: " + algorithm);
+        }
+
+        if (StringUtils.hasText(previousKeys)) {
+            for (String entry : previousKeys.split(",")) {
+                String[] parts = entry.trim().split("=", 2);
+                if (parts.length != 2 || parts[0].isBlank()) {
+                    throw new IllegalStateException("Invalid jwt.previous-keys entry, expected kid=secret or kid=location");
+                }
+                Key key = HS512.equals(algorithm) ? toSecretKey(parts[1].trim()) : readPublicKey(parts[1].trim());
+                loaded.putIfAbsent(parts[0].trim(), key);
+            }
+        }
+
+        keys = Collections.unmodifiableMap(loaded);
+        jwkSetJson = buildJwkSet();
+
+        // JwtParser is immutable and thread-safe, so a single instance serves every request
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return findKey(header.getKeyId());
+                    }
+                })
+                .build();
+
+        log.info("Loaded {} {} JWT key(s), active key id: {}", keys.size(), algorithm, activeKeyId);
+    }
+
+    /**
+     * Signs the token with the active key and algorithm.
+     */
+    public JwtBuilder sign(JwtBuilder builder) {
+        builder.header().keyId(activeKeyId).and();
+        return switch (algorithm) {
+            case HS512 -> builder.signWith((SecretKey) activeKey, Jwts.SIG.HS512);
+            case RS256 -> builder.signWith((PrivateKey) activeKey, Jwts.SIG.RS256);
+            default -> builder.signWith((PrivateKey) activeKey, Jwts.SIG.EdDSA);
+        };
+    }
+
+    /**
+     * Verification key for a {@code kid}: the secret for HS512, the public key otherwise.
+     */
+    public Key findKey(String keyId) {
+        // Tokens issued before key ids were introduced have no kid and were signed with the active key
+        if (keyId == null) {
+            return keys.get(activeKeyId);
+        }
+
+        Key key = keys.get(keyId);
+        if (key == null) {
+            throw new InvalidKeyException("Unknown signing key id: " + keyId);
+        }
+        return key;
+    }
+
+    public Map<String, Key> getKeys() {
+        return keys;
+    }
+
+    private KeyPair loadKeyPair() {
+        if (!StringUtils.hasText(privateKeyLocation) || !StringUtils.hasText(publicKeyLocation)) {
+            log.warn("No jwt.private-key-location/public-key-location configured; generating an ephemeral {} key pair. "
+                    + "Tokens will not survive a restart and cannot be shared between instances.", algorithm);
+            try {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance(keyFamily());
+                if (RS256.equals(algorithm)) {
+                    generator.initialize(2048);
+                }
+                return generator.generateKeyPair();
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot generate " + algorithm + " key pair", e);
+            }
+        }
+
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyFamily());
+            PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(readPem(privateKeyLocation)));
+            return new KeyPair(readPublicKey(publicKeyLocation), privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid private key at " + privateKeyLocation, e);
+        }
+    }
+
+    private PublicKey readPublicKey(String location) {
+        try {
+            return KeyFactory.getInstance(keyFamily()).generatePublic(new X509EncodedKeySpec(readPem(location)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid public key at " + location, e);
+        }
+    }
+
+    private byte[] readPem(String location) {
+        try {
+            String pem = resourceLoader.getResource(location).getContentAsString(StandardCharsets.US_ASCII);
+            String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+            return Base64.getDecoder().decode(base64);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read key from " + location, e);
+        }
+    }
+
+    private String keyFamily() {
+        return RS256.equals(algorithm) ? "RSA" : "Ed25519";
+    }
+
+    private String buildJwkSet() {
+        List<String> jwks = new ArrayList<>();
+        if (!HS512.equals(algorithm)) {
+            keys.forEach((keyId, key) -> jwks.add(Jwks.json(Jwks.builder()
+                    .key((PublicKey) key)
+                    .id(keyId)
+                    .algorithm(algorithm)
+                    .publicKeyUse("sig")
+                    .build())));
+        }
+        return "{\"keys\":[" + String.join(",", jwks) + "]}";
+    }
+
+    private SecretKey toSecretKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,218 @@
+package com.company.rbac.security;
+
+import com.company.rbac.exception.InvalidTokenException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies access tokens in a single pass: the compact form is split once, the signature is
+ * checked with a per-thread {@link Mac} (HS512) or {@link Signature} (RS256, EdDSA) for the
+ * token's key, and the payload is read with a streaming parser that only keeps the claims the
+ * service uses.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtVerifier {
+
+    private static final String MAC_ALGORITHM = "HmacSHA512";
+
+    private final JwtKeyRing keyRing;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private Map<String, SignatureCheck> checks;
+
+    @PostConstruct
+    void init() {
+        Map<String, SignatureCheck> byKeyId = new HashMap<>();
+        keyRing.getKeys().forEach((keyId, key) -> byKeyId.put(keyId, signatureCheck(key)));
+        checks = Map.copyOf(byKeyId);
+    }
+
+    public VerifiedToken verify(String token) {
+        byte[] compact = token.getBytes(StandardCharsets.US_ASCII);
+
+        int headerEnd = indexOf(compact, 0);
+        int payloadEnd = headerEnd < 0 ? -1 : indexOf(compact, headerEnd + 1);
+        if (headerEnd <= 0 || payloadEnd <= headerEnd + 1 || indexOf(compact, payloadEnd + 1) >= 0) {
+            throw new InvalidTokenException("Malformed access token");
+        }
+
+        try {
+            SignatureCheck check = checkFor(readKeyId(decode(compact, 0, headerEnd)));
+            if (!check.verify(compact, payloadEnd, decode(compact, payloadEnd + 1, compact.length))) {
+                throw new InvalidTokenException("Invalid access token signature");
+            }
+
+            VerifiedToken verified = readClaims(decode(compact, headerEnd + 1, payloadEnd));
+            if (verified.getExpiresAt() * 1000 <= System.currentTimeMillis()) {
+                throw new InvalidTokenException("Access token has expired");
+            }
+            return verified;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed access token");
+        } catch (SignatureException e) {
+            throw new InvalidTokenException("Invalid access token signature");
+        }
+    }
+
+    private SignatureCheck checkFor(String keyId) {
+        SignatureCheck check = keyId == null ? checks.get(keyRing.getActiveKeyId()) : checks.get(keyId);
+        if (check == null) {
+            throw new InvalidTokenException("Unknown signing key id: " + keyId);
+        }
+        return check;
+    }
+
+    private String readKeyId(byte[] header) throws IOException {
+        String algorithm = null;
+        String keyId = null;
+
+        try (JsonParser parser = jsonFactory.createParser(header)) {
+            expectObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "alg" -> algorithm = parser.getValueAsString();
+                    case "kid" -> keyId = parser.getValueAsString();
+                    case "crit" -> throw new InvalidTokenException("Unsupported critical header");
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        // Only the configured algorithm is accepted, which rules out algorithm-confusion attacks
+        if (!keyRing.getAlgorithm().equals(algorithm)) {
+            throw new InvalidTokenException("Unsupported token algorithm: " + algorithm);
+        }
+        return keyId;
+    }
+
+    private VerifiedToken readClaims(byte[] payload) throws IOException {
+        String tokenId = null;
+        String subject = null;
+        long userId = -1;
+        long epoch = -1;
+        List<String> roles = List.of();
+        long issuedAt = 0;
+        long expiresAt = -1;
+
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            expectObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "jti" -> tokenId = parser.getValueAsString();
+                    case "sub" -> subject = parser.getValueAsString();
+                    case "uid" -> userId = parser.getValueAsLong(-1);
+                    case "ep" -> epoch = parser.getValueAsLong(-1);
+                    case "roles" -> roles = splitRoles(parser.getValueAsString());
+                    case "iat" -> issuedAt = parser.getValueAsLong();
+                    case "exp" -> expiresAt = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : -1;
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (subject == null || expiresAt < 0) {
+            throw new InvalidTokenException("Access token is missing required claims");
+        }
+        return new VerifiedToken(tokenId, subject, userId, epoch, roles, issuedAt, expiresAt);
+    }
+
+    private void expectObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new InvalidTokenException("Malformed access token");
+        }
+    }
+
+    private List<String> splitRoles(String roles) {
+        if (roles == null || roles.isEmpty()) {
+            return List.of();
+        }
+        return List.of(roles.split(","));
+    }
+
+    private static byte[] decode(byte[] compact, int from, int to) {
+        // Decodes the segment in place, without first copying it into its own String
+        ByteBuffer decoded = Base64.getUrlDecoder().decode(ByteBuffer.wrap(compact, from, to - from));
+        byte[] bytes = decoded.array();
+        return decoded.remaining() == bytes.length ? bytes : Arrays.copyOf(bytes, decoded.remaining());
+    }
+
+    private static int indexOf(byte[] compact, int from) {
+        for (int i = from; i < compact.length; i++) {
+            if (compact[i] == '.') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private SignatureCheck signatureCheck(Key key) {
+        if (key instanceof SecretKey secretKey) {
+            ThreadLocal<Mac> macs = ThreadLocal.withInitial(() -> newMac(secretKey));
+            return (compact, signedLength, signature) -> {
+                Mac mac = macs.get();
+                mac.update(compact, 0, signedLength);
+                return MessageDigest.isEqual(mac.doFinal(), signature);
+            };
+        }
+
+        String algorithm = JwtKeyRing.RS256.equals(keyRing.getAlgorithm()) ? "SHA256withRSA" : "Ed25519";
+        ThreadLocal<Signature> signatures = ThreadLocal.withInitial(() -> newSignature(algorithm, (PublicKey) key));
+        return (compact, signedLength, signature) -> {
+            // A Signature returns to its initVerify state after verify, so each thread reuses one
+            Signature verifier = signatures.get();
+            verifier.update(compact, 0, signedLength);
+            return verifier.verify(signature);
+        };
+    }
+
+    private static Mac newMac(SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + MAC_ALGORITHM, e);
+        }
+    }
+
+    private static Signature newSignature(String algorithm, PublicKey key) {
+        try {
+            Signature signature = Signature.getInstance(algorithm);
+            signature.initVerify(key);
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + algorithm, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SignatureCheck {
+        boolean verify(byte[] compact, int signedLength, byte[] signature) throws SignatureException;
+    }
+}
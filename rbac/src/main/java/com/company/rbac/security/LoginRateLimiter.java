@@ -0,0 +1,151 @@
+package com.company.rbac.security;
+
+import com.company.rbac.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket throttling of login attempts per email and per client IP, checked before any
+ * database access or password hashing. Buckets live in a size-bounded cache that drops idle
+ * entries, and are guarded by a fixed array of striped locks rather than one lock per bucket.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Object[] locks = new Object[STRIPES];
+
+    private final Limit emailLimit;
+    private final Limit ipLimit;
+
+    private final Counter allowedCounter;
+    private final Counter rejectedByEmailCounter;
+    private final Counter rejectedByIpCounter;
+
+    public LoginRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${security.login-throttle.email.capacity:5}") int emailCapacity,
+            @Value("${security.login-throttle.email.refill-per-minute:5}") int emailRefillPerMinute,
+            @Value("${security.login-throttle.ip.capacity:20}") int ipCapacity,
+            @Value("${security.login-throttle.ip.refill-per-minute:20}") int ipRefillPerMinute,
+            @Value("${security.login-throttle.maximum-entries:100000}") long maximumEntries,
+            @Value("${security.login-throttle.idle-expiry-minutes:15}") long idleExpiryMinutes
+    ) {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        this.emailLimit = new Limit(emailCapacity, emailRefillPerMinute);
+        this.ipLimit = new Limit(ipCapacity, ipRefillPerMinute);
+
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumEntries)
+                .expireAfterAccess(Duration.ofMinutes(idleExpiryMinutes))
+                .build();
+
+        this.allowedCounter = Counter.builder("login.throttle.allowed")
+                .description("Login attempts let through by the throttle")
+                .register(meterRegistry);
+        this.rejectedByEmailCounter = Counter.builder("login.throttle.rejected")
+                .tag("key", "email")
+                .description("Login attempts rejected by the throttle")
+                .register(meterRegistry);
+        this.rejectedByIpCounter = Counter.builder("login.throttle.rejected")
+                .tag("key", "ip")
+                .description("Login attempts rejected by the throttle")
+                .register(meterRegistry);
+        Gauge.builder("login.throttle.buckets", buckets, Cache::estimatedSize)
+                .description("Throttle buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consumes one attempt from the client IP and email buckets, or throws
+     * {@link TooManyRequestsException} if either is exhausted.
+     */
+    public void checkLogin(String email, String clientIp) {
+        long ipWaitNanos = tryAcquire("ip:" + clientIp, ipLimit);
+        if (ipWaitNanos > 0) {
+            rejectedByIpCounter.increment();
+            log.warn("Login throttled for client IP: {}", clientIp);
+            throw tooManyRequests(ipWaitNanos);
+        }
+
+        long emailWaitNanos = tryAcquire("email:" + email.toLowerCase(Locale.ROOT), emailLimit);
+        if (emailWaitNanos > 0) {
+            rejectedByEmailCounter.increment();
+            log.warn("Login throttled for user: {}", email);
+            throw tooManyRequests(emailWaitNanos);
+        }
+
+        allowedCounter.increment();
+    }
+
+    /**
+     * Returns 0 if a token was taken, otherwise the nanoseconds until one becomes available.
+     */
+    private long tryAcquire(String key, Limit limit) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(limit.capacity(), now));
+
+        synchronized (lockFor(key)) {
+            return bucket.tryConsume(limit, now);
+        }
+    }
+
+    private Object lockFor(String key) {
+        int hash = key.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private TooManyRequestsException tooManyRequests(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        return new TooManyRequestsException("Too many login attempts. Please try again later.", retryAfterSeconds);
+    }
+
+    private record Limit(double capacity, double tokensPerNano) {
+        Limit(int capacity, int refillPerMinute) {
+            this(capacity, refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1));
+        }
+    }
+
+    /**
+     * Mutable bucket state; only accessed while holding the stripe lock for its key.
+     */
+    private static final class TokenBucket {
+        private double tokens;
+        private long lastRefill;
+
+        private TokenBucket(double tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+
+        private long tryConsume(Limit limit, long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(limit.capacity(), tokens + (now - lastRefill) * limit.tokensPerNano());
+                lastRefill = now;
+            }
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+
+            return (long) Math.ceil((1 - tokens) / limit.tokensPerNano());
+        }
+    }
+}
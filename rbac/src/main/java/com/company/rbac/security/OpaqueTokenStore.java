@@ -0,0 +1,142 @@
+package com.company.rbac.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory sessions behind opaque access tokens: 32 random URL-safe characters that reference a
+ * {@link VerifiedToken} instead of carrying claims and a signature. Sessions are spread over
+ * lock-striped shards so concurrent lookups rarely contend, and each one is swept by the
+ * {@link TokenExpiryWheel} at its expiry; a lookup never returns an expired session in between.
+ * <p>
+ * Sessions live only in this process, so opaque tokens do not survive a restart and are not
+ * shared between instances.
+ */
+@Component
+@Slf4j
+public class OpaqueTokenStore {
+
+    private static final int TOKEN_BYTES = 24;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final TokenExpiryWheel expiryWheel;
+    private final Shard[] shards;
+    private final int mask;
+
+    public OpaqueTokenStore(
+            TokenExpiryWheel expiryWheel,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.opaque.shards:64}") int shardCount
+    ) {
+        int size = Integer.highestOneBit(Math.max(shardCount - 1, 1)) << 1;
+        this.expiryWheel = expiryWheel;
+        this.mask = size - 1;
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard();
+        }
+
+        Gauge.builder("jwt.opaque.sessions", this, OpaqueTokenStore::size)
+                .description("Live sessions behind opaque access tokens")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a session for the principal and returns the opaque token referencing it.
+     */
+    public String issue(RbacPrincipal principal, long ttlMillis) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = encoder.encodeToString(bytes);
+
+        long now = System.currentTimeMillis();
+        long expiresAtMillis = now + ttlMillis;
+        VerifiedToken session = new VerifiedToken(null, principal.getUsername(), principal.getId(),
+                principal.getSecurityEpoch(), List.copyOf(principal.getRoles()), now / 1000, expiresAtMillis / 1000);
+
+        Shard shard = shardFor(token);
+        shard.lock.lock();
+        try {
+            shard.sessions.put(token, session);
+        } finally {
+            shard.lock.unlock();
+        }
+
+        expiryWheel.schedule(expiresAtMillis, () -> remove(token));
+        return token;
+    }
+
+    /**
+     * The session referenced by the token, or {@code null} if it is unknown, ended or expired.
+     */
+    public VerifiedToken find(String token) {
+        VerifiedToken session;
+        Shard shard = shardFor(token);
+        shard.lock.lock();
+        try {
+            session = shard.sessions.get(token);
+        } finally {
+            shard.lock.unlock();
+        }
+
+        // The wheel sweeps at tick resolution; expiry itself is exact
+        if (session == null || session.getExpiresAt() * 1000 <= System.currentTimeMillis()) {
+            return null;
+        }
+        return session;
+    }
+
+    /**
+     * Ends the session referenced by the token, if any.
+     */
+    public void remove(String token) {
+        Shard shard = shardFor(token);
+        shard.lock.lock();
+        try {
+            shard.sessions.remove(token);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Opaque tokens are plain base64url; JWTs always contain two dots.
+     */
+    public static boolean isOpaque(String token) {
+        return token.indexOf('.') < 0;
+    }
+
+    private int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                size += shard.sessions.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Shard shardFor(String token) {
+        int hash = token.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, VerifiedToken> sessions = new HashMap<>();
+    }
+}
@@ -0,0 +1,40 @@
+package com.company.rbac.security;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Grants access when the user holds a permission, answered with one hash lookup on
+ * {@link RbacPrincipal}'s precomputed authority names.
+ */
+public final class PermissionAuthorizationManager<T> implements AuthorizationManager<T> {
+
+    private final String permission;
+
+    PermissionAuthorizationManager(String permission) {
+        this.permission = permission;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+        Authentication auth = authentication.get();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return new AuthorizationDecision(false);
+        }
+
+        if (auth.getPrincipal() instanceof RbacPrincipal principal) {
+            return new AuthorizationDecision(principal.hasAuthority(permission));
+        }
+        return new AuthorizationDecision(auth.getAuthorities().stream()
+                .anyMatch(authority -> permission.equals(authority.getAuthority())));
+    }
+
+    @Override
+    public String toString() {
+        return "PermissionAuthorizationManager[permission=" + permission + "]";
+    }
+}
@@ -0,0 +1,140 @@
+package com.company.rbac.security;
+
+import com.company.rbac.event.RoleHierarchyChangedEvent;
+import com.company.rbac.event.RolesChangedEvent;
+import com.company.rbac.event.UserSecurityChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-backed cache of loaded principals keyed by email. Entries are dropped after the
+ * transaction that changed the user commits, so authorities are never served stale past that
+ * point. Statistics are published under the {@code principals} cache metrics.
+ * <p>
+ * Values are held as futures so that concurrent misses for the same email share a single
+ * in-flight database load (single-flight) without holding a map lock while the query runs. A
+ * failed load is handed to its waiters as a result rather than as an exceptional future, which
+ * Caffeine would log as a warning for every unknown email.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final AsyncCache<String, Load> cache;
+    private final Counter coalescedCounter;
+
+    public PrincipalCache(
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+
+        this.coalescedCounter = Counter.builder("principals.load.coalesced")
+                .description("Lookups that waited on another thread's in-flight load instead of querying")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached principal or loads it on the calling thread. Threads that miss while a
+     * load for the same email is in flight wait for that load instead of starting another one.
+     * A load that is in progress when the entry is invalidated is not cached. Loader exceptions
+     * propagate to the loading thread and to every waiter, and are not cached.
+     */
+    public RbacPrincipal get(String email, Function<String, RbacPrincipal> loader) {
+        CompletableFuture<Load> pending = new CompletableFuture<>();
+        CompletableFuture<Load> future = cache.get(email, (key, executor) -> pending);
+
+        if (future == pending) {
+            try {
+                RbacPrincipal principal = loader.apply(email);
+                pending.complete(new Load(principal, null));
+                return principal;
+            } catch (Throwable e) {
+                // Errors too, or waiters would block on a future that never completes. Waiters
+                // already holding the future see the failure; later lookups load again
+                pending.complete(new Load(null, e));
+                cache.asMap().remove(email, pending);
+                throw e;
+            }
+        }
+
+        if (!future.isDone()) {
+            coalescedCounter.increment();
+        }
+
+        // The shared load failed (unknown or disabled user); fail the same way without querying again
+        Load load = future.join();
+        if (load.failure() instanceof RuntimeException e) {
+            throw e;
+        }
+        if (load.failure() instanceof Error e) {
+            throw e;
+        }
+        if (load.failure() != null) {
+            throw new IllegalStateException("Principal load failed", load.failure());
+        }
+        return load.principal();
+    }
+
+    @TransactionalEventListener
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        cache.synchronous().invalidateAll(event.getEmails());
+        log.debug("Evicted cached principals for {} users", event.getEmails().size());
+    }
+
+    @TransactionalEventListener
+    public void onRolesChanged(RolesChangedEvent event) {
+        // Cached role masks were computed against the previous role registry
+        cache.synchronous().invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onRoleHierarchyChanged(RoleHierarchyChangedEvent event) {
+        // Cached principals hold authorities expanded from the previous hierarchy
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Invalidates the entry once the current transaction commits, or immediately if there is none.
+     */
+    public void invalidateAfterCommit(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(email);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(email);
+            }
+        });
+    }
+
+    public void invalidate(String email) {
+        cache.synchronous().invalidate(email);
+        log.debug("Evicted cached principal for user: {}", email);
+    }
+
+    private record Load(RbacPrincipal principal, Throwable failure) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.rbac.security;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable authenticated user. Unlike Spring's {@code User} it does not implement
+ * {@code CredentialsContainer}, so instances can be shared from the principal cache without
+ * authentication erasing the password hash of the cached copy.
+ */
+@Getter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public final class RbacPrincipal implements UserDetails {
+
+    private final Long id;
+
+    @EqualsAndHashCode.Include
+    private final String username;
+
+    private final String password;
+    private final boolean enabled;
+    private final long securityEpoch;
+    private final Set<GrantedAuthority> authorities;
+
+    /**
+     * Directly assigned roles as {@code ROLE_<name>}; {@link #authorities} adds inherited roles and permissions.
+     */
+    private final Set<String> roles;
+
+    @Getter(AccessLevel.NONE)
+    private final Set<String> authorityNames;
+
+    /**
+     * Bit set of the user's roles, as assigned by {@link RoleRegistry} snapshot {@link #roleMaskVersion}.
+     */
+    private final long roleMask;
+    private final long roleMaskVersion;
+
+    public RbacPrincipal(Long id, String username, String password, boolean enabled, long securityEpoch,
+                         Collection<String> roles, Collection<? extends GrantedAuthority> authorities,
+                         RoleRegistry.Snapshot registry) {
+        this(id, username, password, enabled, securityEpoch, Set.copyOf(roles), Set.copyOf(authorities),
+                registry.maskOf(authorities), registry.version());
+    }
+
+    private RbacPrincipal(Long id, String username, String password, boolean enabled, long securityEpoch,
+                          Set<String> roles, Set<GrantedAuthority> authorities, long roleMask, long roleMaskVersion) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.securityEpoch = securityEpoch;
+        this.roles = roles;
+        this.authorities = authorities;
+        this.authorityNames = authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toUnmodifiableSet());
+        this.roleMask = roleMask;
+        this.roleMaskVersion = roleMaskVersion;
+    }
+
+    public RbacPrincipal withPassword(String newPassword) {
+        return new RbacPrincipal(id, username, newPassword, enabled, securityEpoch, roles, authorities,
+                roleMask, roleMaskVersion);
+    }
+
+    public boolean hasAuthority(String authority) {
+        return authorityNames.contains(authority);
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "RbacPrincipal[" + username + ", authorities=" + authorities + "]";
+    }
+}
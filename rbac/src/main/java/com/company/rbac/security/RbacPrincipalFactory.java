@@ -0,0 +1,37 @@
+package com.company.rbac.security;
+
+import com.company.rbac.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link RbacPrincipal}s from user rows, expanding directly assigned roles through the
+ * current role hierarchy. The user's roles must already be loaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class RbacPrincipalFactory {
+
+    private final RoleRegistry roleRegistry;
+    private final RoleHierarchyClosure roleHierarchyClosure;
+
+    public RbacPrincipal create(User user) {
+        Set<String> roles = user.getRoles().stream()
+                .map(role -> "ROLE_" + role.getName())
+                .collect(Collectors.toSet());
+
+        return new RbacPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getEnabled(),
+                user.getSecurityEpoch(),
+                roles,
+                roleHierarchyClosure.expand(roles),
+                roleRegistry.snapshot()
+        );
+    }
+}
@@ -0,0 +1,233 @@
+package com.company.rbac.security;
+
+import com.company.rbac.entity.Role;
+import com.company.rbac.event.RoleHierarchyChangedEvent;
+import com.company.rbac.event.RolesChangedEvent;
+import com.company.rbac.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed transitive closure of the role hierarchy. For every role it holds the full set of
+ * authorities it grants: {@code ROLE_<name>} for itself and every role it inherits, plus all of
+ * their permissions. Requests only look up these sets; nothing walks the hierarchy per request.
+ * <p>
+ * The closure is an immutable snapshot. A change to one role's edges recomputes only that role
+ * and the roles that inherit from it, then swaps the snapshot in.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleHierarchyClosure {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final RoleRepository roleRepository;
+
+    private volatile Closure closure = Closure.compute(Map.of(), Map.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Runs before PrincipalCache drops its entries, so reloaded principals see the new closure
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onRolesChanged(RolesChangedEvent event) {
+        rebuild();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onRoleHierarchyChanged(RoleHierarchyChangedEvent event) {
+        if (event.getRoleName() == null) {
+            rebuild();
+        } else {
+            update(event.getRoleName());
+        }
+    }
+
+    public synchronized void rebuild() {
+        Map<String, Set<String>> permissions = new HashMap<>();
+        Map<String, Set<String>> inherits = new HashMap<>();
+
+        for (Role role : roleRepository.findAll()) {
+            permissions.put(role.getName(), new HashSet<>());
+            inherits.put(role.getName(), new HashSet<>());
+        }
+        roleRepository.findAllRolePermissions().forEach(edge ->
+                permissions.computeIfAbsent(edge.getRole(), r -> new HashSet<>()).add(edge.getPermission()));
+        roleRepository.findAllRoleInheritance().forEach(edge ->
+                inherits.computeIfAbsent(edge.getRole(), r -> new HashSet<>()).add(edge.getInheritedRole()));
+
+        closure = Closure.compute(permissions, inherits);
+        log.info("Role hierarchy closure rebuilt for {} roles", permissions.size());
+    }
+
+    /**
+     * Reloads the direct edges of one role and recomputes the closure of that role and of every
+     * role that inherits from it.
+     */
+    public synchronized void update(String roleName) {
+        Set<String> permissions = new HashSet<>(roleRepository.findPermissionNames(roleName));
+        Set<String> inherits = new HashSet<>(roleRepository.findInheritedRoleNames(roleName));
+
+        closure = closure.withRole(roleName, permissions, inherits);
+        log.debug("Role hierarchy closure updated for role: {}", roleName);
+    }
+
+    /**
+     * Effective authorities for a set of directly assigned roles, given as {@code ROLE_<name>}.
+     */
+    public Set<GrantedAuthority> expand(Collection<String> roleAuthorities) {
+        Closure current = closure;
+        if (roleAuthorities.size() == 1) {
+            return current.authoritiesOf(roleAuthorities.iterator().next());
+        }
+
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        for (String role : roleAuthorities) {
+            authorities.addAll(current.authoritiesOf(role));
+        }
+        return authorities;
+    }
+
+    /**
+     * Whether {@code roleName} grants, directly or transitively, everything {@code otherRoleName} grants.
+     */
+    public boolean inherits(String roleName, String otherRoleName) {
+        return closure.effectiveRoles.getOrDefault(roleName, Set.of(roleName)).contains(otherRoleName);
+    }
+
+    /**
+     * Authorization manager granting access when the user holds the given permission.
+     */
+    public <T> AuthorizationManager<T> hasPermission(String permission) {
+        return new PermissionAuthorizationManager<>(permission);
+    }
+
+    private static final class Closure {
+
+        private final Map<String, Set<String>> permissions;
+        private final Map<String, Set<String>> inherits;
+        private final Map<String, Set<String>> inheritedBy;
+        private final Map<String, Set<String>> effectiveRoles;
+        private final Map<String, Set<String>> effectivePermissions;
+        private final Map<String, Set<GrantedAuthority>> authoritiesByRole;
+
+        private Closure(Map<String, Set<String>> permissions,
+                        Map<String, Set<String>> inherits,
+                        Map<String, Set<String>> effectiveRoles,
+                        Map<String, Set<String>> effectivePermissions,
+                        Map<String, Set<GrantedAuthority>> authoritiesByRole) {
+            this.permissions = permissions;
+            this.inherits = inherits;
+            this.inheritedBy = reverse(inherits);
+            this.effectiveRoles = effectiveRoles;
+            this.effectivePermissions = effectivePermissions;
+            this.authoritiesByRole = authoritiesByRole;
+        }
+
+        static Closure compute(Map<String, Set<String>> permissions, Map<String, Set<String>> inherits) {
+            Closure closure = new Closure(Map.copyOf(permissions), Map.copyOf(inherits),
+                    new HashMap<>(), new HashMap<>(), new HashMap<>());
+            closure.computeAll(permissions.keySet());
+            return closure;
+        }
+
+        Closure withRole(String roleName, Set<String> rolePermissions, Set<String> roleInherits) {
+            Map<String, Set<String>> newPermissions = new HashMap<>(permissions);
+            Map<String, Set<String>> newInherits = new HashMap<>(inherits);
+            newPermissions.put(roleName, Set.copyOf(rolePermissions));
+            newInherits.put(roleName, Set.copyOf(roleInherits));
+
+            Closure updated = new Closure(newPermissions, newInherits,
+                    new HashMap<>(effectiveRoles), new HashMap<>(effectivePermissions), new HashMap<>(authoritiesByRole));
+
+            // Only the changed role and roles inheriting from it can have a different closure
+            Set<String> affected = updated.inheritingRoles(roleName);
+            for (String role : affected) {
+                updated.effectiveRoles.remove(role);
+                updated.effectivePermissions.remove(role);
+            }
+            updated.computeAll(affected);
+            return updated;
+        }
+
+        Set<GrantedAuthority> authoritiesOf(String roleAuthority) {
+            Set<GrantedAuthority> authorities = authoritiesByRole.get(roleAuthority);
+            return authorities != null ? authorities : Set.of(new SimpleGrantedAuthority(roleAuthority));
+        }
+
+        private Set<String> inheritingRoles(String roleName) {
+            Set<String> result = new LinkedHashSet<>();
+            Deque<String> pending = new ArrayDeque<>(List.of(roleName));
+            while (!pending.isEmpty()) {
+                String role = pending.pop();
+                if (result.add(role)) {
+                    pending.addAll(inheritedBy.getOrDefault(role, Set.of()));
+                }
+            }
+            return result;
+        }
+
+        private void computeAll(Collection<String> roles) {
+            Set<String> visiting = new HashSet<>();
+            for (String role : roles) {
+                computeRole(role, visiting);
+            }
+        }
+
+        private void computeRole(String role, Set<String> visiting) {
+            if (effectiveRoles.containsKey(role) || !visiting.add(role)) {
+                // Already computed, or a cycle; cycles are rejected on write but must not loop here
+                return;
+            }
+
+            Set<String> roles = new HashSet<>(Set.of(role));
+            Set<String> granted = new HashSet<>(permissions.getOrDefault(role, Set.of()));
+            for (String parent : inherits.getOrDefault(role, Set.of())) {
+                computeRole(parent, visiting);
+                roles.addAll(effectiveRoles.getOrDefault(parent, Set.of(parent)));
+                granted.addAll(effectivePermissions.getOrDefault(parent, Set.of()));
+            }
+
+            effectiveRoles.put(role, Set.copyOf(roles));
+            effectivePermissions.put(role, Set.copyOf(granted));
+
+            Set<GrantedAuthority> authorities = new HashSet<>();
+            roles.forEach(r -> authorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + r)));
+            granted.forEach(p -> authorities.add(new SimpleGrantedAuthority(p)));
+            authoritiesByRole.put(ROLE_PREFIX + role, Set.copyOf(authorities));
+
+            visiting.remove(role);
+        }
+
+        private static Map<String, Set<String>> reverse(Map<String, Set<String>> edges) {
+            Map<String, Set<String>> reversed = new HashMap<>();
+            edges.forEach((role, targets) ->
+                    targets.forEach(target -> reversed.computeIfAbsent(target, t -> new HashSet<>()).add(role)));
+            return reversed;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.rbac.security;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * {@code hasAnyRole} check answered with one mask AND. The required mask is compiled once per
+ * registry snapshot, and the user's mask comes precomputed on {@link RbacPrincipal}.
+ */
+public final class RoleMaskAuthorizationManager<T> implements AuthorizationManager<T> {
+
+    private final RoleRegistry registry;
+    private final String[] roles;
+
+    private volatile CompiledMask required = new CompiledMask(-1, 0);
+
+    RoleMaskAuthorizationManager(RoleRegistry registry, String... roles) {
+        this.registry = registry;
+        this.roles = roles.clone();
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+        Authentication auth = authentication.get();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return new AuthorizationDecision(false);
+        }
+
+        RoleRegistry.Snapshot snapshot = registry.snapshot();
+        return new AuthorizationDecision((userMask(auth, snapshot) & requiredMask(snapshot)) != 0);
+    }
+
+    private long requiredMask(RoleRegistry.Snapshot snapshot) {
+        CompiledMask compiled = required;
+        if (compiled.version() != snapshot.version()) {
+            compiled = new CompiledMask(snapshot.version(), snapshot.maskOfRoles(roles));
+            required = compiled;
+        }
+        return compiled.mask();
+    }
+
+    private long userMask(Authentication auth, RoleRegistry.Snapshot snapshot) {
+        if (auth.getPrincipal() instanceof RbacPrincipal principal
+                && principal.getRoleMaskVersion() == snapshot.version()) {
+            return principal.getRoleMask();
+        }
+        return snapshot.maskOf(auth.getAuthorities());
+    }
+
+    @Override
+    public String toString() {
+        return "RoleMaskAuthorizationManager[hasAnyRole=" + Arrays.toString(roles) + "]";
+    }
+
+    private record CompiledMask(long version, long mask) {
+    }
+}
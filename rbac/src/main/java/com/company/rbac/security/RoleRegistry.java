@@ -0,0 +1,99 @@
+package com.company.rbac.security;
+
+import com.company.rbac.entity.Role;
+import com.company.rbac.event.RolesChangedEvent;
+import com.company.rbac.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assigns every role a bit index so role checks become a single AND of two {@code long} masks.
+ * The assignment is an immutable snapshot that is swapped whenever roles are created or deleted;
+ * masks computed against an older snapshot carry its version and are recomputed on use.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleRegistry {
+
+    public static final int MAX_ROLES = Long.SIZE;
+
+    private final RoleRepository roleRepository;
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile Snapshot snapshot = new Snapshot(0, Map.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener
+    public void onRolesChanged(RolesChangedEvent event) {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        List<Role> roles = roleRepository.findAll(Sort.by("id"));
+        if (roles.size() > MAX_ROLES) {
+            log.error("{} roles exist but only {} can be represented; extra roles will never match", roles.size(), MAX_ROLES);
+        }
+
+        Map<String, Integer> bits = new HashMap<>();
+        for (int i = 0; i < Math.min(roles.size(), MAX_ROLES); i++) {
+            bits.put("ROLE_" + roles.get(i).getName(), i);
+        }
+
+        snapshot = new Snapshot(versions.incrementAndGet(), Map.copyOf(bits));
+        log.info("Role registry rebuilt with {} roles (version {})", bits.size(), snapshot.version());
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Authorization manager granting access when the user holds any of the given roles.
+     */
+    public <T> AuthorizationManager<T> hasAnyRole(String... roles) {
+        return new RoleMaskAuthorizationManager<>(this, roles);
+    }
+
+    public record Snapshot(long version, Map<String, Integer> bitsByAuthority) {
+
+        public long maskOf(Collection<? extends GrantedAuthority> authorities) {
+            long mask = 0;
+            for (GrantedAuthority authority : authorities) {
+                Integer bit = bitsByAuthority.get(authority.getAuthority());
+                if (bit != null) {
+                    mask |= 1L << bit;
+                }
+            }
+            return mask;
+        }
+
+        public long maskOfRoles(String... roles) {
+            long mask = 0;
+            for (String role : roles) {
+                Integer bit = bitsByAuthority.get("ROLE_" + role);
+                if (bit != null) {
+                    mask |= 1L << bit;
+                }
+            }
+            return mask;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.company.rbac.security;
+
+import com.company.rbac.entity.RouteRule;
+import com.company.rbac.event.RouteRulesChangedEvent;
+import com.company.rbac.repository.RouteRuleRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Authorizes requests against the rules in the {@code route_rules} table. The rules are compiled
+ * into an immutable {@link RouteTrie} of authorization managers that is swapped in whole on every
+ * change, so readers never lock and always see a consistent rule set. Requests matching no rule
+ * only need to be authenticated; until the first load completes every request is denied.
+ */
+@Component
+@Slf4j
+public class RouteAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationManager<RequestAuthorizationContext> PERMIT_ALL =
+            (authentication, context) -> new AuthorizationDecision(true);
+    private static final AuthorizationManager<RequestAuthorizationContext> DENY_ALL =
+            (authentication, context) -> new AuthorizationDecision(false);
+    private static final AuthorizationManager<RequestAuthorizationContext> AUTHENTICATED =
+            (authentication, context) -> new AuthorizationDecision(isAuthenticated(authentication.get()));
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final RouteRuleRepository routeRuleRepository;
+    private final RoleRegistry roleRegistry;
+    private final RoleHierarchyClosure roleHierarchyClosure;
+
+    private volatile RouteTrie<AuthorizationManager<RequestAuthorizationContext>> routes;
+
+    public RouteAuthorizationManager(RouteRuleRepository routeRuleRepository,
+                                     RoleRegistry roleRegistry,
+                                     RoleHierarchyClosure roleHierarchyClosure) {
+        this.routeRuleRepository = routeRuleRepository;
+        this.roleRegistry = roleRegistry;
+        this.roleHierarchyClosure = roleHierarchyClosure;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @TransactionalEventListener
+    public void onRouteRulesChanged(RouteRulesChangedEvent event) {
+        reload();
+    }
+
+    public synchronized void reload() {
+        RouteTrie.Builder<AuthorizationManager<RequestAuthorizationContext>> builder = RouteTrie.builder();
+        int loaded = 0;
+
+        for (RouteRule rule : routeRuleRepository.findAll()) {
+            try {
+                builder.add(rule.getPattern(), rule.getHttpMethod(), compile(rule));
+                loaded++;
+            } catch (IllegalArgumentException e) {
+                // Rules are validated on write; a bad row must not take every other rule down with it
+                log.error("Skipping invalid route rule {}: {}", rule.getId(), e.getMessage());
+            }
+        }
+
+        routes = builder.build();
+        log.info("Route authorization table loaded with {} rules", loaded);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        RouteTrie<AuthorizationManager<RequestAuthorizationContext>> current = routes;
+        if (current == null) {
+            return new AuthorizationDecision(false);
+        }
+
+        // Decoded and sanitized like the path MVC dispatches on, so an encoded URI cannot dodge a rule
+        HttpServletRequest request = context.getRequest();
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+
+        AuthorizationManager<RequestAuthorizationContext> manager = current.match(request.getMethod(), path);
+        return (manager != null ? manager : AUTHENTICATED).check(authentication, context);
+    }
+
+    /**
+     * Builds the manager for a rule, throwing {@link IllegalArgumentException} if it is malformed.
+     */
+    public AuthorizationManager<RequestAuthorizationContext> compile(RouteRule rule) {
+        RouteTrie.parsePattern(rule.getPattern());
+
+        return switch (rule.getAccess()) {
+            case PERMIT_ALL -> PERMIT_ALL;
+            case DENY_ALL -> DENY_ALL;
+            case AUTHENTICATED -> AUTHENTICATED;
+            case HAS_ANY_ROLE -> roleRegistry.hasAnyRole(splitRoles(rule.getValue()));
+            case HAS_PERMISSION -> {
+                if (rule.getValue() == null || rule.getValue().isBlank()) {
+                    throw new IllegalArgumentException("HAS_PERMISSION rules need a permission");
+                }
+                yield roleHierarchyClosure.hasPermission(rule.getValue().trim());
+            }
+        };
+    }
+
+    private static String[] splitRoles(String value) {
+        String[] roles = value == null ? new String[0] : Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .map(role -> role.toUpperCase(Locale.ROOT))
+                .toArray(String[]::new);
+
+        if (roles.length == 0) {
+            throw new IllegalArgumentException("HAS_ANY_ROLE rules need at least one role");
+        }
+        return roles;
+    }
+
+    private static boolean isAuthenticated(Authentication auth) {
+        return auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken);
+    }
+}
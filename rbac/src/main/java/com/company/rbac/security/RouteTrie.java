@@ -0,0 +1,176 @@
+package com.company.rbac.security;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable path trie mapping URL patterns to values. Lookup walks one node per path segment,
+ * preferring literal segments over {@code *} and {@code *} over a trailing {@code **}, and at
+ * each matched node a method-specific entry over the any-method entry.
+ */
+public final class RouteTrie<V> {
+
+    private static final String ANY_SEGMENT = "*";
+    private static final String ANY_REMAINDER = "**";
+
+    private final Node<V> root;
+
+    private RouteTrie(Node<V> root) {
+        this.root = root;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Most specific value for the request, or null if no pattern matches.
+     */
+    public V match(String method, String path) {
+        return match(root, method, path, 0);
+    }
+
+    private V match(Node<V> node, String method, String path, int from) {
+        int start = skipSlashes(path, from);
+        if (start == path.length()) {
+            V exact = node.valueFor(method);
+            if (exact != null) {
+                return exact;
+            }
+            // "/a/**" also matches "/a" itself
+            return node.remainder != null ? node.remainder.valueFor(method) : null;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+
+        if (node.literals != null) {
+            Node<V> literal = node.literals.get(path.substring(start, end));
+            if (literal != null) {
+                V value = match(literal, method, path, end);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+
+        if (node.anySegment != null) {
+            V value = match(node.anySegment, method, path, end);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        return node.remainder != null ? node.remainder.valueFor(method) : null;
+    }
+
+    private static int skipSlashes(String path, int from) {
+        while (from < path.length() && path.charAt(from) == '/') {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Splits a pattern into segments, rejecting anything that cannot be stored in the trie.
+     */
+    public static List<String> parsePattern(String pattern) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Pattern must start with '/': " + pattern);
+        }
+
+        List<String> segments = new ArrayList<>();
+        for (String segment : pattern.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (ANY_REMAINDER.equals(segment) && i != segments.size() - 1) {
+                throw new IllegalArgumentException("'**' is only allowed as the last segment: " + pattern);
+            }
+            if (segment.contains("*") && !ANY_SEGMENT.equals(segment) && !ANY_REMAINDER.equals(segment)) {
+                throw new IllegalArgumentException("Wildcards must be whole segments: " + pattern);
+            }
+        }
+        return segments;
+    }
+
+    public static final class Builder<V> {
+
+        private final Node<V> root = new Node<>();
+
+        private Builder() {
+        }
+
+        public Builder<V> add(String pattern, String method, V value) {
+            Node<V> node = root;
+            for (String segment : parsePattern(pattern)) {
+                node = switch (segment) {
+                    case ANY_REMAINDER -> node.remainder == null ? node.remainder = new Node<>() : node.remainder;
+                    case ANY_SEGMENT -> node.anySegment == null ? node.anySegment = new Node<>() : node.anySegment;
+                    default -> {
+                        if (node.literals == null) {
+                            node.literals = new HashMap<>();
+                        }
+                        yield node.literals.computeIfAbsent(segment, s -> new Node<>());
+                    }
+                };
+            }
+
+            if (method == null) {
+                node.anyMethod = value;
+            } else {
+                if (node.byMethod == null) {
+                    node.byMethod = new HashMap<>();
+                }
+                node.byMethod.put(method.toUpperCase(Locale.ROOT), value);
+            }
+            return this;
+        }
+
+        public RouteTrie<V> build() {
+            return new RouteTrie<>(root.freeze());
+        }
+    }
+
+    private static final class Node<V> {
+
+        private Map<String, Node<V>> literals;
+        private Node<V> anySegment;
+        private Node<V> remainder;
+        private Map<String, V> byMethod;
+        private V anyMethod;
+
+        V valueFor(String method) {
+            if (byMethod != null) {
+                V value = byMethod.get(method);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return anyMethod;
+        }
+
+        Node<V> freeze() {
+            Node<V> frozen = new Node<>();
+            if (literals != null) {
+                Map<String, Node<V>> children = new HashMap<>();
+                literals.forEach((segment, child) -> children.put(segment, child.freeze()));
+                frozen.literals = Map.copyOf(children);
+            }
+            frozen.anySegment = anySegment != null ? anySegment.freeze() : null;
+            frozen.remainder = remainder != null ? remainder.freeze() : null;
+            frozen.byMethod = byMethod != null ? Map.copyOf(byMethod) : null;
+            frozen.anyMethod = anyMethod;
+            return frozen;
+        }
+    }
+}
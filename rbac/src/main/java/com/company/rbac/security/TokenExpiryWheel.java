@@ -0,0 +1,98 @@
+package com.company.rbac.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timing wheel that runs an action once a token-derived deadline has passed. Scheduling is
+ * an O(1) append to the bucket of the deadline's tick; one daemon thread visits a single bucket
+ * per tick and fires the entries that are due, leaving those a whole rotation or more away.
+ * <p>
+ * Actions run on the wheel thread and must be short, such as removing a map entry.
+ */
+@Component
+@Slf4j
+public class TokenExpiryWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Queue<Timeout>[] buckets;
+    private final long startMillis = System.currentTimeMillis();
+    private final ScheduledExecutorService ticker;
+
+    // Last tick whose bucket has been processed; only written by the ticker thread
+    private volatile long processedTick;
+
+    @SuppressWarnings("unchecked")
+    public TokenExpiryWheel(
+            @Value("${jwt.revocation.tick-millis:1000}") long tickMillis,
+            @Value("${jwt.revocation.wheel-size:512}") int wheelSize
+    ) {
+        int size = Integer.highestOneBit(Math.max(wheelSize - 1, 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-expiry-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs {@code action} on the first tick at or after {@code deadlineMillis}.
+     */
+    public void schedule(long deadlineMillis, Runnable action) {
+        long deadlineTick = -Math.floorDiv(startMillis - deadlineMillis, tickMillis);
+        // A deadline in a tick already processed goes into the next one instead of waiting a rotation
+        long tick = Math.max(deadlineTick, processedTick + 1);
+        buckets[(int) (tick & mask)].add(new Timeout(deadlineMillis, action));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private void advance() {
+        try {
+            long now = System.currentTimeMillis();
+            long currentTick = (now - startMillis) / tickMillis;
+
+            // Catches up on ticks missed through GC pauses or a busy scheduler
+            for (long tick = processedTick + 1; tick <= currentTick; tick++) {
+                expire(buckets[(int) (tick & mask)], now);
+                processedTick = tick;
+            }
+        } catch (RuntimeException e) {
+            log.error("Token expiry wheel tick failed", e);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket, long now) {
+        for (Iterator<Timeout> it = bucket.iterator(); it.hasNext(); ) {
+            Timeout timeout = it.next();
+            if (timeout.deadlineMillis() <= now) {
+                it.remove();
+                timeout.action().run();
+            }
+        }
+    }
+
+    private record Timeout(long deadlineMillis, Runnable action) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.company.rbac.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Identifiers ({@code jti}) of access tokens revoked before their expiry. Each entry is dropped by
+ * the {@link TokenExpiryWheel} at the token's {@code exp}, after which signature verification
+ * rejects the token anyway, so the set only ever holds live revoked tokens.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private final Set<String> revoked = ConcurrentHashMap.newKeySet();
+    private final TokenExpiryWheel expiryWheel;
+
+    public TokenRevocationList(TokenExpiryWheel expiryWheel, MeterRegistry meterRegistry) {
+        this.expiryWheel = expiryWheel;
+        Gauge.builder("jwt.revoked.tokens", revoked, Set::size)
+                .description("Revoked access tokens that have not yet expired")
+                .register(meterRegistry);
+    }
+
+    public void revoke(VerifiedToken token) {
+        long expiresAtMillis = token.getExpiresAt() * 1000;
+        if (token.getTokenId() == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+
+        if (revoked.add(token.getTokenId())) {
+            String tokenId = token.getTokenId();
+            expiryWheel.schedule(expiresAtMillis, () -> revoked.remove(tokenId));
+            log.debug("Revoked access token {} for user: {}", tokenId, token.getSubject());
+        }
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        return isRevoked(token.getTokenId());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && !revoked.isEmpty() && revoked.contains(tokenId);
+    }
+}
@@ -0,0 +1,87 @@
+package com.company.rbac.security;
+
+import com.company.rbac.event.UserSecurityChangedEvent;
+import com.company.rbac.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user security epochs used to reject access tokens minted before the user's last
+ * security-relevant change. Every change bumps {@code users.security_epoch} in the changing
+ * transaction; once it commits the new epoch is copied into an in-memory {@link UserEpochTable},
+ * which is warmed from the database at startup. A token is current when the epoch it carries is
+ * at least the user's recorded epoch, so checking it is one hash probe.
+ */
+@Component
+@Slf4j
+public class UserEpochRegistry {
+
+    /**
+     * Epoch recorded for deleted users, so none of their tokens is current.
+     */
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final UserEpochTable epochs = new UserEpochTable(1024);
+
+    private volatile boolean loaded;
+
+    public UserEpochRegistry(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        Gauge.builder("jwt.user.epochs", epochs, UserEpochTable::size)
+                .description("Users with a recorded security epoch")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        userRepository.findAllSecurityEpochs().forEach(user -> epochs.raise(user.getId(), user.getSecurityEpoch()));
+        loaded = true;
+        log.info("Loaded security epochs for {} users", epochs.size());
+    }
+
+    /**
+     * Bumps the epoch inside the transaction that made the change, and publishes it in memory
+     * only once that transaction has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        List<Long> userIds = event.getUserIds();
+
+        // One update and one read for the whole batch; users no longer present have been deleted
+        userRepository.incrementSecurityEpochs(userIds);
+        Map<Long, Long> updated = new HashMap<>();
+        userRepository.findSecurityEpochs(userIds)
+                .forEach(user -> updated.put(user.getId(), user.getSecurityEpoch()));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Long userId : userIds) {
+                    epochs.raise(userId, updated.getOrDefault(userId, DELETED));
+                }
+                log.debug("Raised security epochs of {} users; their earlier tokens are no longer accepted", userIds.size());
+            }
+        });
+    }
+
+    /**
+     * Whether a token carrying {@code epoch} is still valid for the user. Until the table has been
+     * loaded no token is.
+     */
+    public boolean isCurrent(long userId, long epoch) {
+        return loaded && epoch >= epochs.get(userId, 0);
+    }
+}
@@ -0,0 +1,126 @@
+package com.company.rbac.security;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open-addressing hash table from user id to security epoch, stored in two parallel
+ * {@code long[]} arrays so lookups neither box nor allocate. Readers take an optimistic stamp and
+ * only fall back to a read lock if a writer raced them; writers are serialised.
+ * <p>
+ * User ids are positive, so {@code 0} marks an empty slot.
+ */
+final class UserEpochTable {
+
+    private static final long EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    UserEpochTable(int expectedSize) {
+        int capacity = tableSizeFor(expectedSize);
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+    }
+
+    /**
+     * Epoch of the user, or {@code missing} if none has been recorded.
+     */
+    long get(long userId, long missing) {
+        long stamp = lock.tryOptimisticRead();
+        long[] k = keys;
+        long[] v = values;
+        long value = probe(k, v, userId, missing);
+        if (lock.validate(stamp)) {
+            return value;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return probe(keys, values, userId, missing);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Records {@code epoch} for the user unless a higher one is already recorded.
+     */
+    void raise(long userId, long epoch) {
+        long stamp = lock.writeLock();
+        try {
+            if (size + 1 > keys.length / 2) {
+                resize(keys.length * 2);
+            }
+
+            int slot = slot(keys, userId);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = userId;
+                values[slot] = epoch;
+                size++;
+            } else if (epoch > values[slot]) {
+                values[slot] = epoch;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static long probe(long[] k, long[] v, long userId, long missing) {
+        if (k.length != v.length) {
+            // Torn read across a resize; the caller's stamp validation fails and it retries locked
+            return missing;
+        }
+
+        int mask = k.length - 1;
+        for (int i = mix(userId) & mask; ; i = (i + 1) & mask) {
+            long key = k[i];
+            if (key == userId) {
+                return v[i];
+            }
+            if (key == EMPTY) {
+                return missing;
+            }
+        }
+    }
+
+    private static int slot(long[] k, long userId) {
+        int mask = k.length - 1;
+        int i = mix(userId) & mask;
+        while (k[i] != EMPTY && k[i] != userId) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void resize(int capacity) {
+        long[] newKeys = new long[capacity];
+        long[] newValues = new long[capacity];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                int slot = slot(newKeys, keys[i]);
+                newKeys[slot] = keys[i];
+                newValues[slot] = values[i];
+            }
+        }
+        values = newValues;
+        keys = newKeys;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize * 2 - 1, MIN_CAPACITY - 1)) << 1;
+        return Math.max(capacity, MIN_CAPACITY);
+    }
+}
@@ -0,0 +1,21 @@
+package com.company.rbac.security;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Claims of an access token whose signature and expiry have been checked. Timestamps are epoch
+ * seconds, as carried by the {@code iat} and {@code exp} claims. {@code userId} and {@code epoch}
+ * are -1 for tokens without {@code uid} and {@code ep} claims.
+ */
+@Value
+public class VerifiedToken {
+    String tokenId;
+    String subject;
+    long userId;
+    long epoch;
+    List<String> roles;
+    long issuedAt;
+    long expiresAt;
+}
@@ -9,11 +9,19 @@ import com.company.rbac.entity.RefreshToken;
 import com.company.rbac.entity.Role;
 import com.company.rbac.entity.User;
 import com.company.rbac.exception.DuplicateResourceException;
+import com.company.rbac.exception.InvalidTokenException;
 import com.company.rbac.exception.ResourceNotFoundException;
 import com.company.rbac.repository.RoleRepository;
 import com.company.rbac.repository.UserRepository;
+import com.company.rbac.security.JwtVerifier;
+import com.company.rbac.security.OpaqueTokenStore;
+import com.company.rbac.security.RbacPrincipal;
+import com.company.rbac.security.RbacPrincipalFactory;
+import com.company.rbac.security.TokenRevocationList;
+import com.company.rbac.security.VerifiedTokenCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -22,6 +30,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -34,52 +43,70 @@ public class AuthService {
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
     private final AuthenticationManager authenticationManager;
+    private final TransactionTemplate transactionTemplate;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwtVerifier jwtVerifier;
+    private final TokenRevocationList tokenRevocationList;
+    private final RbacPrincipalFactory rbacPrincipalFactory;
+    private final OpaqueTokenStore opaqueTokenStore;
+
+    @Value("${jwt.token-format:jwt}")
+    private String tokenFormat;
 
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user: {}", request.getEmail());
 
+        // Fail fast before paying for the hash
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new DuplicateResourceException("Email already exists: " + request.getEmail());
         }
 
-        // Get default USER role
-        Role userRole = roleRepository.findByName("USER")
-                .orElseThrow(() -> new ResourceNotFoundException("Default USER role not found"));
-
-        // Create user
-        User user = User.builder()
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .firstName(request.getFirstName())
-                .lastName(request.getLastName())
-                .enabled(true)
-                .build();
-
-        user.addRole(userRole);
-        User savedUser = userRepository.save(user);
-
-        // Generate tokens
-        UserDetails userDetails = createUserDetails(savedUser);
-        String accessToken = jwtService.generateToken(userDetails);
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(savedUser);
-
-        log.info("User registered successfully: {}", savedUser.getEmail());
-
-        return AuthResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken.getToken())
-                .tokenType("Bearer")
-                .expiresIn(jwtService.getExpirationTime())
-                .user(UserResponse.fromEntity(savedUser))
-                .build();
+        // BCrypt runs before the transaction so no pooled connection is held while hashing
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
+
+        return transactionTemplate.execute(status -> {
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new DuplicateResourceException("Email already exists: " + request.getEmail());
+            }
+
+            // Get default USER role
+            Role userRole = roleRepository.findByName("USER")
+                    .orElseThrow(() -> new ResourceNotFoundException("Default USER role not found"));
+
+            // Create user
+            User user = User.builder()
+                    .email(request.getEmail())
+                    .password(encodedPassword)
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .enabled(true)
+                    .build();
+
+            user.addRole(userRole);
+            User savedUser = userRepository.save(user);
+
+            // Generate tokens
+            UserDetails userDetails = rbacPrincipalFactory.create(savedUser);
+            String accessToken = issueAccessToken(userDetails);
+            RefreshToken refreshToken = refreshTokenService.createRefreshToken(savedUser);
+
+            log.info("User registered successfully: {}", savedUser.getEmail());
+
+            return AuthResponse.builder()
+                    .accessToken(accessToken)
+                    .refreshToken(refreshToken.getToken())
+                    .tokenType("Bearer")
+                    .expiresIn(jwtService.getExpirationTime())
+                    .user(UserResponse.fromEntity(savedUser))
+                    .build();
+        });
     }
 
-    @Transactional
     public AuthResponse login(LoginRequest request) {
         log.info("Login attempt for user: {}", request.getEmail());
 
-        // Authenticate user
+        // Authenticate user; the user lookup runs in its own read-only transaction and the
+        // BCrypt comparison happens afterwards, with no connection checked out
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
@@ -89,24 +116,26 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Load user
-        User user = userRepository.findByEmailWithRoles(request.getEmail())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        // Generate tokens
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String accessToken = jwtService.generateToken(userDetails);
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
-
-        log.info("User logged in successfully: {}", user.getEmail());
-
-        return AuthResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken.getToken())
-                .tokenType("Bearer")
-                .expiresIn(jwtService.getExpirationTime())
-                .user(UserResponse.fromEntity(user))
-                .build();
+        return transactionTemplate.execute(status -> {
+            // Load user
+            User user = userRepository.findByEmailWithRoles(request.getEmail())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+            // Generate tokens
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            String accessToken = issueAccessToken(userDetails);
+            RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
+
+            log.info("User logged in successfully: {}", user.getEmail());
+
+            return AuthResponse.builder()
+                    .accessToken(accessToken)
+                    .refreshToken(refreshToken.getToken())
+                    .tokenType("Bearer")
+                    .expiresIn(jwtService.getExpirationTime())
+                    .user(UserResponse.fromEntity(user))
+                    .build();
+        });
     }
 
     @Transactional
@@ -117,8 +146,8 @@ public class AuthService {
         User user = refreshToken.getUser();
 
         // Generate new access token
-        UserDetails userDetails = createUserDetails(user);
-        String accessToken = jwtService.generateToken(userDetails);
+        UserDetails userDetails = rbacPrincipalFactory.create(user);
+        String accessToken = issueAccessToken(userDetails);
 
         // Optionally rotate refresh token
         RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user);
@@ -134,24 +163,33 @@ public class AuthService {
     }
 
     @Transactional
-    public void logout(String refreshToken) {
+    public void logout(String refreshToken, String accessToken) {
         log.info("Logout initiated");
 
         if (refreshToken != null) {
             refreshTokenService.revokeRefreshToken(refreshToken);
         }
 
+        if (accessToken != null && OpaqueTokenStore.isOpaque(accessToken)) {
+            opaqueTokenStore.remove(accessToken);
+        } else if (accessToken != null) {
+            try {
+                tokenRevocationList.revoke(verifiedTokenCache.get(accessToken, jwtVerifier::verify));
+            } catch (InvalidTokenException e) {
+                // Nothing to revoke: the token is already unusable
+                log.debug("Ignoring invalid access token on logout: {}", e.getMessage());
+            }
+        }
+
         SecurityContextHolder.clearContext();
         log.info("User logged out successfully");
     }
 
-    private UserDetails createUserDetails(User user) {
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(user.getRoles().stream()
-                        .map(role -> "ROLE_" + role.getName())
-                        .toArray(String[]::new))
-                .build();
+    private String issueAccessToken(UserDetails userDetails) {
+        // Opaque tokens keep claims server-side: a short bearer value and a map lookup instead of a signature check
+        if ("opaque".equalsIgnoreCase(tokenFormat) && userDetails instanceof RbacPrincipal principal) {
+            return opaqueTokenStore.issue(principal, jwtService.getExpirationTime());
+        }
+        return jwtService.generateToken(userDetails);
     }
-}
\ No newline at end of file
+}
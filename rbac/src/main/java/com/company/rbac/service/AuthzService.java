@@ -0,0 +1,99 @@
+package com.company.rbac.service;
+
+import com.company.rbac.dto.request.AuthzCheckRequest;
+import com.company.rbac.dto.response.AuthzCheckResult;
+import com.company.rbac.security.RbacPrincipal;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates batches of authorization checks on behalf of downstream services. Each distinct
+ * subject is resolved once per batch through the principal cache, so a batch costs at most one
+ * role query per subject that is not already cached; every check after that is a set lookup.
+ */
+@Service
+@Slf4j
+public class AuthzService {
+
+    private final UserDetailsService userDetailsService;
+    private final DistributionSummary batchSize;
+    private final Timer batchTimer;
+
+    public AuthzService(UserDetailsService userDetailsService, MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.batchSize = DistributionSummary.builder("authz.check.batch.size")
+                .description("Number of checks per authorization batch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("authz.check.batch.duration")
+                .description("Time to evaluate an authorization batch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    public List<AuthzCheckResult> check(List<AuthzCheckRequest.Check> checks) {
+        List<AuthzCheckResult> results = new ArrayList<>(checks.size());
+        check(checks, results::add);
+        return results;
+    }
+
+    /**
+     * Evaluates the checks in order and hands each result to {@code sink} as soon as it is known,
+     * so large batches can be streamed without buffering. The batch timer covers evaluation only,
+     * not the time the sink spends writing results to a slow client.
+     */
+    public void check(List<AuthzCheckRequest.Check> checks, Consumer<AuthzCheckResult> sink) {
+        log.debug("Evaluating authorization batch of {} checks", checks.size());
+        batchSize.record(checks.size());
+
+        Map<String, Optional<RbacPrincipal>> subjects = new HashMap<>();
+        long evaluationNanos = 0;
+        for (int i = 0; i < checks.size(); i++) {
+            long start = System.nanoTime();
+            AuthzCheckRequest.Check check = checks.get(i);
+            Optional<RbacPrincipal> principal = subjects.computeIfAbsent(check.getSubject(), this::loadSubject);
+            AuthzCheckResult result = evaluate(i, check, principal);
+            evaluationNanos += System.nanoTime() - start;
+
+            sink.accept(result);
+        }
+        batchTimer.record(evaluationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private AuthzCheckResult evaluate(int index, AuthzCheckRequest.Check check, Optional<RbacPrincipal> principal) {
+        boolean hasRole = check.getRole() != null && !check.getRole().isBlank();
+        String authority = hasRole ? "ROLE_" + check.getRole().toUpperCase(Locale.ROOT) : check.getPermission();
+
+        return AuthzCheckResult.builder()
+                .index(index)
+                .subject(check.getSubject())
+                .permission(hasRole ? null : check.getPermission())
+                .role(hasRole ? check.getRole() : null)
+                .allowed(principal.map(p -> p.hasAuthority(authority)).orElse(false))
+                .build();
+    }
+
+    private Optional<RbacPrincipal> loadSubject(String email) {
+        try {
+            // Unknown and disabled users are denied everything
+            return Optional.of((RbacPrincipal) userDetailsService.loadUserByUsername(email));
+        } catch (UsernameNotFoundException e) {
+            log.debug("Authorization check for unknown or disabled subject: {}", email);
+            return Optional.empty();
+        }
+    }
+}
@@ -1,45 +1,50 @@
 package com.company.rbac.service;
 
+import com.company.rbac.security.JwtKeyRing;
+import com.company.rbac.security.RbacPrincipal;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final JwtKeyRing keyRing;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
 
-        // Add roles to claims
-        String roles = userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
+        // Add directly assigned roles to claims; inherited roles and permissions are derived on use
+        String roles;
+        if (userDetails instanceof RbacPrincipal principal) {
+            roles = String.join(",", principal.getRoles());
+            // Lets the filter reject this token once the user's security epoch moves past it
+            claims.put("uid", principal.getId());
+            claims.put("ep", principal.getSecurityEpoch());
+        } else {
+            roles = userDetails.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.joining(","));
+        }
         claims.put("roles", roles);
 
         return createToken(claims, userDetails.getUsername());
@@ -49,15 +54,15 @@ public class JwtService {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString()) // jti, so a single access token can be revoked
                 .claims(claims) // Changed from setClaims to claims
                 .subject(subject) // Changed from setSubject to subject
                 .issuedAt(now) // Changed from setIssuedAt to issuedAt
-                .expiration(expiryDate) // Changed from setExpiration to expiration
-                // NEW SYNTAX: signWith(key, algorithm) is now just signWith(key) or signWith(key, alg)
-                // We use Jwts.SIG for the algorithm reference in 0.12.x
-                .signWith(getSigningKey(), Jwts.SIG.HS512)
-                .compact();
+                .expiration(expiryDate); // Changed from setExpiration to expiration
+
+        // The key ring sets the kid header and signs with the configured algorithm (HS512, RS256 or EdDSA)
+        return keyRing.sign(builder).compact();
 
 
                 /* Jwts.builder()
@@ -82,10 +87,8 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey()) // Replaces setSigningKey
-                .build()
+    public Claims extractAllClaims(String token) {
+        return keyRing.getParser()
                 .parseSignedClaims(token) // Replaces parseClaimsJws
                 .getPayload();
 
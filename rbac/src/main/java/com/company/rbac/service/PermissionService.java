@@ -0,0 +1,69 @@
+package com.company.rbac.service;
+
+import com.company.rbac.dto.request.PermissionCreateRequest;
+import com.company.rbac.dto.response.PermissionResponse;
+import com.company.rbac.entity.Permission;
+import com.company.rbac.event.RoleHierarchyChangedEvent;
+import com.company.rbac.exception.DuplicateResourceException;
+import com.company.rbac.exception.ResourceNotFoundException;
+import com.company.rbac.repository.PermissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PermissionService {
+
+    private final PermissionRepository permissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<PermissionResponse> getAllPermissions() {
+        log.debug("Fetching all permissions");
+
+        return permissionRepository.findAll().stream()
+                .map(PermissionResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public PermissionResponse createPermission(PermissionCreateRequest request) {
+        log.info("Creating new permission: {}", request.getName());
+
+        if (permissionRepository.existsByName(request.getName())) {
+            throw new DuplicateResourceException("Permission already exists: " + request.getName());
+        }
+
+        Permission permission = Permission.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .build();
+
+        Permission savedPermission = permissionRepository.save(permission);
+        log.info("Permission created successfully: {}", savedPermission.getName());
+
+        return PermissionResponse.fromEntity(savedPermission);
+    }
+
+    @Transactional
+    public void deletePermission(Long id) {
+        log.info("Deleting permission with ID: {}", id);
+
+        Permission permission = permissionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Permission not found with id: " + id));
+
+        permissionRepository.removeFromAllRoles(permission.getId());
+        permissionRepository.delete(permission);
+
+        // The permission may be granted through any number of roles, so rebuild the whole closure
+        eventPublisher.publishEvent(new RoleHierarchyChangedEvent(null));
+        log.info("Permission deleted successfully: {}", permission.getName());
+    }
+}
@@ -4,6 +4,7 @@ import com.company.rbac.entity.RefreshToken;
 import com.company.rbac.entity.User;
 import com.company.rbac.exception.InvalidTokenException;
 import com.company.rbac.repository.RefreshTokenRepository;
+import com.company.rbac.security.IntrospectionCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -19,6 +21,7 @@ import java.util.UUID;
 public class RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final IntrospectionCache introspectionCache;
 
     @Value("${jwt.refresh-expiration}")
     private Long refreshExpiration;
@@ -27,6 +30,7 @@ public class RefreshTokenService {
     public RefreshToken createRefreshToken(User user) {
         // Revoke all existing tokens for user
         refreshTokenRepository.revokeAllUserTokens(user);
+        introspectionCache.invalidateRefreshTokensAfterCommit(user.getId());
 
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(user)
@@ -55,17 +59,28 @@ public class RefreshTokenService {
         return refreshToken;
     }
 
+    /**
+     * The refresh token with its user, if it exists and is neither revoked nor expired.
+     */
+    @Transactional(readOnly = true)
+    public Optional<RefreshToken> findActiveRefreshToken(String token) {
+        return refreshTokenRepository.findByTokenWithUser(token)
+                .filter(rt -> !rt.getRevoked() && !rt.isExpired());
+    }
+
     @Transactional
     public void revokeRefreshToken(String token) {
         refreshTokenRepository.findByToken(token).ifPresent(rt -> {
             rt.setRevoked(true);
             refreshTokenRepository.save(rt);
+            introspectionCache.invalidateAfterCommit(token);
         });
     }
 
     @Transactional
     public void revokeAllUserTokens(User user) {
         refreshTokenRepository.revokeAllUserTokens(user);
+        introspectionCache.invalidateRefreshTokensAfterCommit(user.getId());
     }
 
     @Transactional
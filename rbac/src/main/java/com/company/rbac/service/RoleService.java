@@ -2,21 +2,39 @@ package com.company.rbac.service;
 
 import com.company.rbac.dto.request.RoleAssignRequest;
 import com.company.rbac.dto.request.RoleCreateRequest;
+import com.company.rbac.dto.request.RoleMembershipBatchRequest;
+import com.company.rbac.dto.response.RoleMembershipBatchResponse;
 import com.company.rbac.dto.response.RoleResponse;
 import com.company.rbac.dto.response.UserResponse;
+import com.company.rbac.entity.Permission;
 import com.company.rbac.entity.Role;
 import com.company.rbac.entity.User;
+import com.company.rbac.event.RoleHierarchyChangedEvent;
+import com.company.rbac.event.RolesChangedEvent;
+import com.company.rbac.event.UserSecurityChangedEvent;
 import com.company.rbac.exception.BadRequestException;
 import com.company.rbac.exception.DuplicateResourceException;
 import com.company.rbac.exception.ResourceNotFoundException;
+import com.company.rbac.repository.PermissionRepository;
 import com.company.rbac.repository.RoleRepository;
 import com.company.rbac.repository.UserRepository;
+import com.company.rbac.repository.UserRoleBatchRepository;
+import com.company.rbac.security.RoleRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +44,9 @@ public class RoleService {
 
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final UserRoleBatchRepository userRoleBatchRepository;
+    private final PermissionRepository permissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<RoleResponse> getAllRoles() {
@@ -50,18 +71,23 @@ public class RoleService {
     public RoleResponse createRole(RoleCreateRequest request) {
         log.info("Creating new role: {}", request.getName());
 
-        String roleName = request.getName().toUpperCase();
+        String roleName = request.getName().toUpperCase(Locale.ROOT);
 
         if (roleRepository.existsByName(roleName)) {
             throw new DuplicateResourceException("Role already exists: " + roleName);
         }
 
+        if (roleRepository.count() >= RoleRegistry.MAX_ROLES) {
+            throw new BadRequestException("Maximum number of roles reached: " + RoleRegistry.MAX_ROLES);
+        }
+
         Role role = Role.builder()
                 .name(roleName)
                 .description(request.getDescription())
                 .build();
 
         Role savedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new RolesChangedEvent(savedRole.getName()));
         log.info("Role created successfully: {}", savedRole.getName());
 
         return RoleResponse.fromEntity(savedRole);
@@ -71,19 +97,18 @@ public class RoleService {
     public UserResponse assignRoleToUser(RoleAssignRequest request) {
         log.info("Assigning role {} to user {}", request.getRoleId(), request.getUserId());
 
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + request.getUserId()));
-
-        Role role = roleRepository.findById(request.getRoleId())
-                .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + request.getRoleId()));
+        User user = lockUser(request.getUserId());
+        Role role = lockRoleForShare(request.getRoleId());
 
-        if (user.getRoles().contains(role)) {
+        if (hasRole(user, role)) {
             throw new BadRequestException("User already has this role");
         }
 
-        user.addRole(role);
-        User updatedUser = userRepository.save(user);
+        // Writes the join row directly; the role's membership is never loaded
+        userRepository.addRole(user.getId(), role.getId());
+        User updatedUser = findUser(user.getId());
 
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getEmail()));
         log.info("Role {} assigned to user {} successfully", role.getName(), user.getEmail());
 
         return UserResponse.fromEntity(updatedUser);
@@ -93,41 +118,253 @@ public class RoleService {
     public UserResponse revokeRoleFromUser(RoleAssignRequest request) {
         log.info("Revoking role {} from user {}", request.getRoleId(), request.getUserId());
 
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + request.getUserId()));
+        User user = lockUser(request.getUserId());
+        Role role = findRole(request.getRoleId());
 
-        Role role = roleRepository.findById(request.getRoleId())
-                .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + request.getRoleId()));
-
-        if (!user.getRoles().contains(role)) {
+        if (!hasRole(user, role)) {
             throw new BadRequestException("User does not have this role");
         }
 
+        // The row lock keeps two concurrent revocations from both passing this check
         if (user.getRoles().size() == 1) {
             throw new BadRequestException("Cannot remove the last role from user");
         }
 
-        user.removeRole(role);
-        User updatedUser = userRepository.save(user);
+        userRepository.removeRole(user.getId(), role.getId());
+        User updatedUser = findUser(user.getId());
 
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getEmail()));
         log.info("Role {} revoked from user {} successfully", role.getName(), user.getEmail());
 
         return UserResponse.fromEntity(updatedUser);
     }
 
+    /**
+     * Adds and removes members of a role in one transaction. Validation runs as a few set-based
+     * queries, the join rows are written in JDBC batches, and one security event covers every user
+     * whose membership changed. Each distinct user id gets one result; an id listed in both
+     * {@code add} and {@code remove} is rejected once, as a {@code CONFLICT} under {@code ADD}.
+     */
+    @Transactional
+    public RoleMembershipBatchResponse updateMembers(Long roleId, RoleMembershipBatchRequest request) {
+        Role role = lockRoleForShare(roleId);
+        Set<Long> adds = request.getAdd() == null ? Set.of() : new LinkedHashSet<>(request.getAdd());
+        Set<Long> removes = request.getRemove() == null ? Set.of() : new LinkedHashSet<>(request.getRemove());
+
+        log.info("Updating members of role {}: {} to add, {} to remove", role.getName(), adds.size(), removes.size());
+
+        Set<Long> userIds = new HashSet<>(adds);
+        userIds.addAll(removes);
+
+        // Row locks serialise this batch with single assignments and other batches touching the same users
+        Map<Long, String> emails = userRoleBatchRepository.lockUsers(userIds);
+        Set<Long> members = userRoleBatchRepository.findMembers(role.getId(), emails.keySet());
+        Map<Long, Integer> roleCounts = userRoleBatchRepository.countRoles(
+                removes.stream().filter(members::contains).toList());
+
+        List<RoleMembershipBatchResponse.Item> results = new ArrayList<>(adds.size() + removes.size());
+        List<Long> toAdd = new ArrayList<>();
+        List<Long> toRemove = new ArrayList<>();
+
+        for (Long userId : adds) {
+            RoleMembershipBatchResponse.Status status;
+            if (removes.contains(userId)) {
+                status = RoleMembershipBatchResponse.Status.CONFLICT;
+            } else if (!emails.containsKey(userId)) {
+                status = RoleMembershipBatchResponse.Status.USER_NOT_FOUND;
+            } else if (members.contains(userId)) {
+                status = RoleMembershipBatchResponse.Status.ALREADY_MEMBER;
+            } else {
+                status = RoleMembershipBatchResponse.Status.ADDED;
+                toAdd.add(userId);
+            }
+            results.add(new RoleMembershipBatchResponse.Item(userId, RoleMembershipBatchResponse.Action.ADD, status));
+        }
+
+        for (Long userId : removes) {
+            if (adds.contains(userId)) {
+                // Already reported as a conflict by the add pass
+                continue;
+            }
+
+            RoleMembershipBatchResponse.Status status;
+            if (!emails.containsKey(userId)) {
+                status = RoleMembershipBatchResponse.Status.USER_NOT_FOUND;
+            } else if (!members.contains(userId)) {
+                status = RoleMembershipBatchResponse.Status.NOT_MEMBER;
+            } else if (roleCounts.getOrDefault(userId, 0) <= 1) {
+                status = RoleMembershipBatchResponse.Status.LAST_ROLE;
+            } else {
+                status = RoleMembershipBatchResponse.Status.REMOVED;
+                toRemove.add(userId);
+            }
+            results.add(new RoleMembershipBatchResponse.Item(userId, RoleMembershipBatchResponse.Action.REMOVE, status));
+        }
+
+        userRoleBatchRepository.insert(role.getId(), toAdd);
+        userRoleBatchRepository.delete(role.getId(), toRemove);
+
+        List<Long> changed = new ArrayList<>(toAdd);
+        changed.addAll(toRemove);
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new UserSecurityChangedEvent(changed, changed.stream().map(emails::get).toList()));
+        }
+
+        log.info("Members of role {} updated: {} added, {} removed, {} rejected",
+                role.getName(), toAdd.size(), toRemove.size(), results.size() - changed.size());
+
+        return RoleMembershipBatchResponse.builder()
+                .roleId(role.getId())
+                .roleName(role.getName())
+                .added(toAdd.size())
+                .removed(toRemove.size())
+                .failed(results.size() - changed.size())
+                .results(results)
+                .build();
+    }
+
     @Transactional
     public void deleteRole(Long id) {
         log.info("Deleting role with ID: {}", id);
 
-        Role role = roleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + id));
+        // The write lock waits out membership writers holding the role and keeps new ones out
+        // until the delete commits, so the check below cannot be invalidated by a concurrent insert
+        Role role = lockRoleForUpdate(id);
 
-        // Check if role is assigned to any users
-        if (!role.getUsers().isEmpty()) {
+        // Check if role is assigned to any users; stops at the first user_roles row found
+        if (userRepository.existsByRolesId(role.getId())) {
             throw new BadRequestException("Cannot delete role that is assigned to users");
         }
 
+        roleRepository.removeFromAllInheritingRoles(role.getId());
         roleRepository.delete(role);
+        eventPublisher.publishEvent(new RolesChangedEvent(role.getName()));
         log.info("Role deleted successfully: {}", role.getName());
     }
+
+    @Transactional
+    public RoleResponse addPermission(Long roleId, Long permissionId) {
+        log.info("Adding permission {} to role {}", permissionId, roleId);
+
+        Role role = findRole(roleId);
+        Permission permission = permissionRepository.findById(permissionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Permission not found with id: " + permissionId));
+
+        if (!role.getPermissions().add(permission)) {
+            throw new BadRequestException("Role already has this permission");
+        }
+
+        eventPublisher.publishEvent(new RoleHierarchyChangedEvent(role.getName()));
+        log.info("Permission {} added to role {} successfully", permission.getName(), role.getName());
+
+        return RoleResponse.fromEntity(role);
+    }
+
+    @Transactional
+    public RoleResponse removePermission(Long roleId, Long permissionId) {
+        log.info("Removing permission {} from role {}", permissionId, roleId);
+
+        Role role = findRole(roleId);
+
+        if (!role.getPermissions().removeIf(permission -> permission.getId().equals(permissionId))) {
+            throw new BadRequestException("Role does not have this permission");
+        }
+
+        eventPublisher.publishEvent(new RoleHierarchyChangedEvent(role.getName()));
+        log.info("Permission {} removed from role {} successfully", permissionId, role.getName());
+
+        return RoleResponse.fromEntity(role);
+    }
+
+    @Transactional
+    public RoleResponse addInheritedRole(Long roleId, Long inheritedRoleId) {
+        log.info("Making role {} inherit role {}", roleId, inheritedRoleId);
+
+        // Taken before any other read, so the edges checked below include every committed edit
+        roleRepository.findAllForUpdate();
+        Role role = findRole(roleId);
+        Role inheritedRole = findRole(inheritedRoleId);
+
+        // Checked against role_inherits rather than the in-memory closure, which lags commits
+        if (inheritsInDatabase(inheritedRole.getName(), role.getName())) {
+            throw new BadRequestException("Role hierarchy cannot contain cycles");
+        }
+
+        if (!role.getInheritedRoles().add(inheritedRole)) {
+            throw new BadRequestException("Role already inherits this role");
+        }
+
+        eventPublisher.publishEvent(new RoleHierarchyChangedEvent(role.getName()));
+        log.info("Role {} now inherits role {}", role.getName(), inheritedRole.getName());
+
+        return RoleResponse.fromEntity(role);
+    }
+
+    @Transactional
+    public RoleResponse removeInheritedRole(Long roleId, Long inheritedRoleId) {
+        log.info("Removing inherited role {} from role {}", inheritedRoleId, roleId);
+
+        Role role = findRole(roleId);
+
+        if (!role.getInheritedRoles().removeIf(inherited -> inherited.getId().equals(inheritedRoleId))) {
+            throw new BadRequestException("Role does not inherit this role");
+        }
+
+        eventPublisher.publishEvent(new RoleHierarchyChangedEvent(role.getName()));
+        log.info("Inherited role {} removed from role {} successfully", inheritedRoleId, role.getName());
+
+        return RoleResponse.fromEntity(role);
+    }
+
+    private User lockUser(Long id) {
+        return userRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+    }
+
+    private User findUser(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+    }
+
+    /**
+     * Whether {@code roleName} reaches {@code otherRoleName} through role_inherits as currently
+     * stored; every role reaches itself.
+     */
+    private boolean inheritsInDatabase(String roleName, String otherRoleName) {
+        Map<String, List<String>> inherited = roleRepository.findAllRoleInheritance().stream()
+                .collect(Collectors.groupingBy(RoleRepository.RoleInheritance::getRole,
+                        Collectors.mapping(RoleRepository.RoleInheritance::getInheritedRole, Collectors.toList())));
+
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(List.of(roleName));
+        while (!pending.isEmpty()) {
+            String current = pending.poll();
+            if (current.equals(otherRoleName)) {
+                return true;
+            }
+            if (visited.add(current)) {
+                pending.addAll(inherited.getOrDefault(current, List.of()));
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasRole(User user, Role role) {
+        return user.getRoles().stream().anyMatch(assigned -> assigned.getId().equals(role.getId()));
+    }
+
+    private Role findRole(Long id) {
+        return roleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + id));
+    }
+
+    private Role lockRoleForUpdate(Long id) {
+        return roleRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + id));
+    }
+
+    private Role lockRoleForShare(Long id) {
+        return roleRepository.findByIdForShare(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + id));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.company.rbac.service;
+
+import com.company.rbac.dto.request.RouteRuleRequest;
+import com.company.rbac.dto.response.RouteRuleResponse;
+import com.company.rbac.entity.RouteRule;
+import com.company.rbac.event.RouteRulesChangedEvent;
+import com.company.rbac.exception.BadRequestException;
+import com.company.rbac.exception.DuplicateResourceException;
+import com.company.rbac.exception.ResourceNotFoundException;
+import com.company.rbac.repository.RouteRuleRepository;
+import com.company.rbac.security.RouteAuthorizationManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RouteRuleService {
+
+    private final RouteRuleRepository routeRuleRepository;
+    private final RouteAuthorizationManager routeAuthorizationManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<RouteRuleResponse> getAllRules() {
+        log.debug("Fetching all route rules");
+
+        return routeRuleRepository.findAll().stream()
+                .map(RouteRuleResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public RouteRuleResponse createRule(RouteRuleRequest request) {
+        log.info("Creating route rule: {} {}", request.getHttpMethod(), request.getPattern());
+
+        if (routeRuleRepository.existsByPatternAndHttpMethod(request.getPattern(), request.getHttpMethod())) {
+            throw new DuplicateResourceException("Route rule already exists: " + request.getPattern());
+        }
+
+        RouteRule rule = new RouteRule();
+        apply(rule, request);
+
+        RouteRule savedRule = routeRuleRepository.save(rule);
+        eventPublisher.publishEvent(new RouteRulesChangedEvent(savedRule.getId()));
+        log.info("Route rule created successfully: {}", savedRule.getId());
+
+        return RouteRuleResponse.fromEntity(savedRule);
+    }
+
+    @Transactional
+    public RouteRuleResponse updateRule(Long id, RouteRuleRequest request) {
+        log.info("Updating route rule with ID: {}", id);
+
+        RouteRule rule = routeRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Route rule not found with id: " + id));
+
+        boolean keyChanged = !rule.getPattern().equals(request.getPattern())
+                || !Objects.equals(rule.getHttpMethod(), request.getHttpMethod());
+        if (keyChanged && routeRuleRepository.existsByPatternAndHttpMethod(request.getPattern(), request.getHttpMethod())) {
+            throw new DuplicateResourceException("Route rule already exists: " + request.getPattern());
+        }
+
+        apply(rule, request);
+
+        RouteRule updatedRule = routeRuleRepository.save(rule);
+        eventPublisher.publishEvent(new RouteRulesChangedEvent(updatedRule.getId()));
+        log.info("Route rule updated successfully: {}", updatedRule.getId());
+
+        return RouteRuleResponse.fromEntity(updatedRule);
+    }
+
+    @Transactional
+    public void deleteRule(Long id) {
+        log.info("Deleting route rule with ID: {}", id);
+
+        RouteRule rule = routeRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Route rule not found with id: " + id));
+
+        routeRuleRepository.delete(rule);
+        eventPublisher.publishEvent(new RouteRulesChangedEvent(id));
+        log.info("Route rule deleted successfully: {}", id);
+    }
+
+    private void apply(RouteRule rule, RouteRuleRequest request) {
+        rule.setPattern(request.getPattern());
+        rule.setHttpMethod(request.getHttpMethod());
+        rule.setAccess(request.getAccess());
+        rule.setValue(request.getValue());
+
+        try {
+            // Compiling up front keeps malformed rules out of the table
+            routeAuthorizationManager.compile(rule);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+}
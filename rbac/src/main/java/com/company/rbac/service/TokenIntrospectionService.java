@@ -0,0 +1,132 @@
+package com.company.rbac.service;
+
+import com.company.rbac.dto.response.IntrospectionResponse;
+import com.company.rbac.entity.RefreshToken;
+import com.company.rbac.security.IntrospectedToken;
+import com.company.rbac.security.IntrospectionCache;
+import com.company.rbac.security.OpaqueTokenStore;
+import com.company.rbac.security.TokenRevocationList;
+import com.company.rbac.security.UserEpochRegistry;
+import com.company.rbac.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Introspection for consumers that cannot verify tokens themselves. What a token says never
+ * changes, so it is parsed or looked up once and cached until the token expires; revocation is
+ * then checked on every call against in-memory state only, so repeat introspections never touch
+ * the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenIntrospectionService {
+
+    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final IntrospectionCache introspectionCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final UserEpochRegistry userEpochRegistry;
+    private final OpaqueTokenStore opaqueTokenStore;
+
+    /**
+     * The token type is told apart by its format (access tokens are JWTs, refresh tokens are
+     * opaque), so {@code token_type_hint} is not needed and is ignored, as RFC 7662 allows.
+     */
+    public IntrospectionResponse introspect(String token) {
+        IntrospectedToken introspected;
+        if (isJwt(token)) {
+            introspected = introspectionCache.get(token, this::loadAccessToken);
+        } else {
+            // Opaque access tokens are already in memory; anything else opaque is a refresh token
+            VerifiedToken session = opaqueTokenStore.find(token);
+            introspected = session != null
+                    ? toIntrospectedToken(session)
+                    : introspectionCache.get(token, this::loadRefreshToken);
+        }
+
+        if (introspected == null || !isActive(introspected)) {
+            return IntrospectionResponse.inactive();
+        }
+        return IntrospectionResponse.fromToken(introspected);
+    }
+
+    private boolean isActive(IntrospectedToken token) {
+        if (token.getExpiresAt() * 1000 <= System.currentTimeMillis()) {
+            return false;
+        }
+        if (token.getType() == IntrospectedToken.Type.REFRESH) {
+            // Revoking the token or changing its user evicts the entry, so a cached one is active
+            return true;
+        }
+        return !tokenRevocationList.isRevoked(token.getTokenId())
+                && userEpochRegistry.isCurrent(token.getUserId(), token.getEpoch());
+    }
+
+    private IntrospectedToken loadAccessToken(String token) {
+        try {
+            Claims claims = jwtService.extractAllClaims(token);
+            String roles = claims.get("roles", String.class);
+
+            return IntrospectedToken.builder()
+                    .type(IntrospectedToken.Type.ACCESS)
+                    .tokenId(claims.getId())
+                    .subject(claims.getSubject())
+                    .userId(numericClaim(claims, "uid"))
+                    .epoch(numericClaim(claims, "ep"))
+                    .roles(roles == null || roles.isEmpty() ? List.of() : List.of(roles.split(",")))
+                    .issuedAt(claims.getIssuedAt().getTime() / 1000)
+                    .expiresAt(claims.getExpiration().getTime() / 1000)
+                    .build();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Introspected access token is not valid: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private IntrospectedToken toIntrospectedToken(VerifiedToken session) {
+        return IntrospectedToken.builder()
+                .type(IntrospectedToken.Type.ACCESS)
+                .subject(session.getSubject())
+                .userId(session.getUserId())
+                .epoch(session.getEpoch())
+                .roles(session.getRoles())
+                .issuedAt(session.getIssuedAt())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+
+    private IntrospectedToken loadRefreshToken(String token) {
+        return refreshTokenService.findActiveRefreshToken(token)
+                .filter(refreshToken -> refreshToken.getUser().getEnabled())
+                .map(this::toIntrospectedToken)
+                .orElse(null);
+    }
+
+    private IntrospectedToken toIntrospectedToken(RefreshToken refreshToken) {
+        ZoneId zone = ZoneId.systemDefault();
+
+        return IntrospectedToken.builder()
+                .type(IntrospectedToken.Type.REFRESH)
+                .subject(refreshToken.getUser().getEmail())
+                .userId(refreshToken.getUser().getId())
+                .issuedAt(refreshToken.getCreatedAt().atZone(zone).toEpochSecond())
+                .expiresAt(refreshToken.getExpiryDate().atZone(zone).toEpochSecond())
+                .build();
+    }
+
+    private static long numericClaim(Claims claims, String name) {
+        return claims.get(name) instanceof Number number ? number.longValue() : -1;
+    }
+
+    private static boolean isJwt(String token) {
+        int first = token.indexOf('.');
+        return first > 0 && token.indexOf('.', first + 1) > first;
+    }
+}
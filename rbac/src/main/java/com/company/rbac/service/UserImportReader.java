@@ -0,0 +1,205 @@
+package com.company.rbac.service;
+
+import com.company.rbac.dto.request.UserImportRow;
+import com.company.rbac.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads import rows one at a time from CSV or NDJSON, so only the chunk being imported is ever in
+ * memory. A malformed row is returned with an error instead of ending the import.
+ */
+public abstract class UserImportReader implements Closeable {
+
+    protected final BufferedReader reader;
+    protected long line;
+
+    private UserImportReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * CSV with a header row naming the columns {@code email}, {@code password} or
+     * {@code passwordHash}, {@code firstName}, {@code lastName} and optionally {@code roles}
+     * (role names separated by {@code |}). Fields follow RFC 4180 quoting.
+     */
+    public static UserImportReader csv(InputStream input) throws IOException {
+        return new CsvReader(input);
+    }
+
+    /**
+     * One JSON object per line with the fields of {@link UserImportRow}.
+     */
+    public static UserImportReader ndjson(InputStream input, ObjectMapper objectMapper) {
+        return new NdjsonReader(input, objectMapper.readerFor(UserImportRow.class));
+    }
+
+    /**
+     * The next row, or {@code null} at the end of the input.
+     */
+    public abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * A parsed row and the line it starts on; {@code user} is {@code null} when {@code error} is set.
+     */
+    public record Row(long line, UserImportRow user, String error) {
+    }
+
+    private static final class NdjsonReader extends UserImportReader {
+
+        private final ObjectReader objectReader;
+
+        private NdjsonReader(InputStream input, ObjectReader objectReader) {
+            super(input);
+            this.objectReader = objectReader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                if (text == null) {
+                    return null;
+                }
+                line++;
+            } while (text.isBlank());
+
+            try {
+                return new Row(line, objectReader.readValue(text), null);
+            } catch (JsonProcessingException e) {
+                return new Row(line, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvReader extends UserImportReader {
+
+        private static final List<String> COLUMNS = List.of("email", "password", "passwordhash", "firstname", "lastname", "roles");
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private CsvReader(InputStream input) throws IOException {
+            super(input);
+
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new BadRequestException("CSV import requires a header row");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i).trim().toLowerCase(Locale.ROOT);
+                if (!COLUMNS.contains(column)) {
+                    throw new BadRequestException("Unknown CSV column: " + header.get(i));
+                }
+                columns.put(column, i);
+            }
+            if (!columns.containsKey("email") || !columns.containsKey("firstname") || !columns.containsKey("lastname")
+                    || !(columns.containsKey("password") || columns.containsKey("passwordhash"))) {
+                throw new BadRequestException("CSV header must name email, firstName, lastName and password or passwordHash");
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            List<String> record;
+            long startLine;
+            do {
+                startLine = line + 1;
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isBlank());
+
+            if (record.size() != columns.size()) {
+                return new Row(startLine, null, "Expected " + columns.size() + " fields but found " + record.size());
+            }
+
+            String roles = field(record, "roles");
+            return new Row(startLine, UserImportRow.builder()
+                    .email(field(record, "email"))
+                    .password(field(record, "password"))
+                    .passwordHash(field(record, "passwordhash"))
+                    .firstName(field(record, "firstname"))
+                    .lastName(field(record, "lastname"))
+                    .roles(roles == null ? null : Arrays.asList(roles.split("\\|")))
+                    .build(), null);
+        }
+
+        private String field(List<String> record, String column) {
+            Integer index = columns.get(column);
+            if (index == null) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * Reads one record, which may span lines inside quoted fields, or returns {@code null} at
+         * the end of the input.
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+
+            int c;
+            while ((c = reader.read()) != -1) {
+                read = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+
+            if (!read) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.company.rbac.service;
+
+import com.company.rbac.dto.request.UserImportRow;
+import com.company.rbac.dto.response.UserImportProgress;
+import com.company.rbac.entity.Role;
+import com.company.rbac.entity.User;
+import com.company.rbac.repository.RoleRepository;
+import com.company.rbac.repository.UserRepository;
+import com.company.rbac.security.BoundedPasswordEncoder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import. Rows are taken from the reader a chunk at a time, checked against each other
+ * and the database with one query per chunk, hashed in parallel on the password hashing pool and
+ * inserted in JDBC batches in one transaction per chunk, so memory stays flat however large the
+ * input is and rows already imported survive a later failure.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportService {
+
+    private static final String DEFAULT_ROLE = "USER";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${users.import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Imports every row of the reader, reporting rejected rows and per-chunk progress to the
+     * listener as they happen, and returns the final summary.
+     */
+    public UserImportProgress importUsers(UserImportReader reader, Consumer<UserImportProgress> listener) throws IOException {
+        long startedAt = System.nanoTime();
+        Map<String, Long> roleIds = roleRepository.findAll().stream()
+                .collect(Collectors.toMap(Role::getName, Role::getId));
+
+        long processed = 0;
+        long imported = 0;
+        List<UserImportReader.Row> chunk = new ArrayList<>(chunkSize);
+
+        UserImportReader.Row row;
+        do {
+            row = reader.next();
+            if (row != null) {
+                chunk.add(row);
+            }
+
+            if (chunk.size() == chunkSize || (row == null && !chunk.isEmpty())) {
+                processed += chunk.size();
+                imported += importChunk(chunk, roleIds, listener);
+                chunk.clear();
+                listener.accept(progress(UserImportProgress.Type.PROGRESS, processed, imported, startedAt));
+            }
+        } while (row != null);
+
+        UserImportProgress summary = progress(UserImportProgress.Type.SUMMARY, processed, imported, startedAt);
+        log.info("User import finished: {} rows, {} imported, {} rejected in {} ms",
+                processed, imported, summary.getFailed(), summary.getElapsedMillis());
+        return summary;
+    }
+
+    private int importChunk(List<UserImportReader.Row> rows, Map<String, Long> roleIds,
+                            Consumer<UserImportProgress> listener) {
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        Set<String> emails = new HashSet<>();
+
+        for (UserImportReader.Row row : rows) {
+            String error = row.error() != null ? row.error() : validate(row.user());
+            Set<Long> userRoleIds = null;
+
+            if (error == null) {
+                userRoleIds = resolveRoles(row.user(), roleIds);
+                if (userRoleIds == null) {
+                    error = "Unknown role in: " + row.user().getRoles();
+                } else if (!emails.add(normalize(row.user().getEmail()))) {
+                    error = "Duplicate email in import";
+                }
+            }
+
+            if (error != null) {
+                listener.accept(UserImportProgress.error(row.line(), row.user() == null ? null : row.user().getEmail(), error));
+            } else {
+                candidates.add(new Candidate(row.line(), row.user(), userRoleIds));
+            }
+        }
+
+        // One query for the whole chunk instead of an existsByEmail per row
+        Set<String> existing = emails.isEmpty() ? Set.of() : userRepository.findExistingEmails(emails).stream()
+                .map(UserImportService::normalize)
+                .collect(Collectors.toSet());
+        List<Candidate> accepted = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            if (existing.contains(normalize(candidate.user().getEmail()))) {
+                listener.accept(UserImportProgress.error(candidate.line(), candidate.user().getEmail(), "Email already exists"));
+            } else {
+                accepted.add(candidate);
+            }
+        }
+
+        List<User> users = toUsers(accepted);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(users, accepted));
+            return users.size();
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with another writer; retry row by row so only the conflicting rows fail
+            log.debug("Batch insert failed, retrying rows individually: {}", e.getMessage());
+            return insertIndividually(users, accepted, listener);
+        }
+    }
+
+    private List<User> toUsers(List<Candidate> candidates) {
+        List<String> plainPasswords = candidates.stream()
+                .map(candidate -> candidate.user().getPassword())
+                .filter(Objects::nonNull)
+                .toList();
+        List<String> hashes = passwordEncoder.encodeAll(plainPasswords);
+
+        List<User> users = new ArrayList<>(candidates.size());
+        int next = 0;
+        for (Candidate candidate : candidates) {
+            UserImportRow row = candidate.user();
+            users.add(User.builder()
+                    .email(row.getEmail())
+                    .password(row.getPassword() != null ? hashes.get(next++) : row.getPasswordHash())
+                    .firstName(row.getFirstName())
+                    .lastName(row.getLastName())
+                    .enabled(true)
+                    .build());
+        }
+        return users;
+    }
+
+    private void insert(List<User> users, List<Candidate> candidates) {
+        for (int i = 0; i < users.size(); i++) {
+            // References avoid loading roles; only their ids are written to user_roles
+            for (Long roleId : candidates.get(i).roleIds()) {
+                users.get(i).addRole(roleRepository.getReferenceById(roleId));
+            }
+        }
+        userRepository.saveAll(users);
+    }
+
+    private int insertIndividually(List<User> users, List<Candidate> candidates, Consumer<UserImportProgress> listener) {
+        int imported = 0;
+        for (int i = 0; i < users.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            User user = users.get(i);
+            user.setId(null);
+            user.getRoles().clear();
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(user), List.of(candidate)));
+                imported++;
+            } catch (DataIntegrityViolationException e) {
+                listener.accept(UserImportProgress.error(candidate.line(), candidate.user().getEmail(), "Email already exists"));
+            }
+        }
+        return imported;
+    }
+
+    private String validate(UserImportRow row) {
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Ids of the row's roles, {@code USER} if it names none, or {@code null} if any name is unknown.
+     */
+    private static Set<Long> resolveRoles(UserImportRow row, Map<String, Long> roleIds) {
+        List<String> names = row.getRoles() == null || row.getRoles().isEmpty() ? List.of(DEFAULT_ROLE) : row.getRoles();
+        Set<Long> ids = new HashSet<>();
+        for (String name : names) {
+            Long id = roleIds.get(name.trim().toUpperCase(Locale.ROOT));
+            if (id == null) {
+                return null;
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    // Email uniqueness is case-insensitive under the default MySQL collation
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static UserImportProgress progress(UserImportProgress.Type type, long processed, long imported, long startedAt) {
+        return UserImportProgress.builder()
+                .type(type)
+                .processed(processed)
+                .imported(imported)
+                .failed(processed - imported)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
+                .build();
+    }
+
+    private record Candidate(long line, UserImportRow user, Set<Long> roleIds) {
+    }
+}
@@ -2,34 +2,70 @@ package com.company.rbac.service;
 
 import com.company.rbac.dto.request.UserCreateRequest;
 import com.company.rbac.dto.request.UserUpdateRequest;
+import com.company.rbac.dto.response.CursorPageResponse;
 import com.company.rbac.dto.response.PageResponse;
 import com.company.rbac.dto.response.UserResponse;
 import com.company.rbac.entity.Role;
 import com.company.rbac.entity.User;
+import com.company.rbac.event.UserSecurityChangedEvent;
 import com.company.rbac.exception.BadRequestException;
 import com.company.rbac.exception.DuplicateResourceException;
 import com.company.rbac.exception.ResourceNotFoundException;
 import com.company.rbac.repository.RoleRepository;
 import com.company.rbac.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
+    /**
+     * Columns the cursor listing can sort by, each backed by an index on (column, id), with the
+     * parser restoring a cursor key to the column's type.
+     */
+    private static final Map<String, Function<String, Object>> CURSOR_SORT_KEYS = Map.of(
+            "id", Long::valueOf,
+            "email", value -> value,
+            "firstName", value -> value,
+            "lastName", value -> value,
+            "createdAt", LocalDateTime::parse
+    );
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
 
     @Transactional(readOnly = true)
     public PageResponse<UserResponse> getAllUsers(Pageable pageable) {
@@ -41,6 +77,36 @@ public class UserService {
         return PageResponse.fromPage(responsePage);
     }
 
+    /**
+     * One slice of users in {@code sortBy} order, starting after the position encoded in
+     * {@code cursor} (or at the beginning when it is {@code null}). The id breaks ties so every
+     * position is unique, and each slice is an index seek, so deep slices cost the same as the first.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserResponse> scrollUsers(String cursor, int size, String sortBy, Sort.Direction direction) {
+        log.debug("Fetching users after cursor (size: {}, sortBy: {} {})", size, sortBy, direction);
+
+        Function<String, Object> keyParser = CURSOR_SORT_KEYS.get(sortBy);
+        if (keyParser == null) {
+            throw new BadRequestException("Unsupported sort field: " + sortBy + ". Use one of " + CURSOR_SORT_KEYS.keySet());
+        }
+
+        Sort sort = "id".equals(sortBy) ? Sort.by(direction, "id") : Sort.by(direction, sortBy, "id");
+        ScrollPosition position = cursor == null || cursor.isBlank()
+                ? ScrollPosition.keyset()
+                : decodeCursor(cursor, sortBy, direction);
+
+        Window<User> window = userRepository.findAllBy(position, sort, Limit.of(size));
+        boolean hasNext = window.hasNext() && !window.isEmpty();
+
+        return CursorPageResponse.<UserResponse>builder()
+                .content(window.map(UserResponse::fromEntity).getContent())
+                .size(window.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(window.positionAt(window.size() - 1), sortBy, direction) : null)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
         log.debug("Fetching user by ID: {}", id);
@@ -51,7 +117,6 @@ public class UserService {
         return UserResponse.fromEntity(user);
     }
 
-    @Transactional
     public UserResponse createUser(UserCreateRequest request) {
         log.info("Creating new user: {}", request.getEmail());
 
@@ -63,30 +128,39 @@ public class UserService {
             throw new BadRequestException("At least one role must be assigned");
         }
 
-        // Fetch roles
-        Set<Role> roles = new HashSet<>();
-        for (Long roleId : request.getRoleIds()) {
-            Role role = roleRepository.findById(roleId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + roleId));
-            roles.add(role);
-        }
+        // BCrypt runs before the transaction so no pooled connection is held while hashing
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
 
-        // Create user
-        User user = User.builder()
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .firstName(request.getFirstName())
-                .lastName(request.getLastName())
-                .enabled(true)
-                .build();
+        return transactionTemplate.execute(status -> {
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new DuplicateResourceException("Email already exists: " + request.getEmail());
+            }
+
+            // Fetch roles
+            Set<Role> roles = new HashSet<>();
+            for (Long roleId : request.getRoleIds()) {
+                Role role = roleRepository.findById(roleId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + roleId));
+                roles.add(role);
+            }
 
-        // Assign roles
-        roles.forEach(user::addRole);
+            // Create user
+            User user = User.builder()
+                    .email(request.getEmail())
+                    .password(encodedPassword)
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .enabled(true)
+                    .build();
 
-        User savedUser = userRepository.save(user);
-        log.info("User created successfully: {}", savedUser.getEmail());
+            // Assign roles
+            roles.forEach(user::addRole);
 
-        return UserResponse.fromEntity(savedUser);
+            User savedUser = userRepository.save(user);
+            log.info("User created successfully: {}", savedUser.getEmail());
+
+            return UserResponse.fromEntity(savedUser);
+        });
     }
 
     @Transactional
@@ -105,11 +179,16 @@ public class UserService {
             user.setLastName(request.getLastName());
         }
 
+        boolean enabledChanged = request.getEnabled() != null && !request.getEnabled().equals(user.getEnabled());
         if (request.getEnabled() != null) {
             user.setEnabled(request.getEnabled());
         }
 
         User updatedUser = userRepository.save(user);
+
+        if (enabledChanged) {
+            eventPublisher.publishEvent(new UserSecurityChangedEvent(updatedUser.getId(), updatedUser.getEmail()));
+        }
         log.info("User updated successfully: {}", updatedUser.getEmail());
 
         return UserResponse.fromEntity(updatedUser);
@@ -123,9 +202,59 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getEmail()));
         log.info("User deleted successfully: {}", user.getEmail());
     }
 
+    /**
+     * Passes every user to the consumer in id order, roles included, reading them from a
+     * forward-only stream so memory use does not grow with the number of users.
+     *
+     * @return the number of users exported
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(Consumer<UserResponse> consumer) {
+        log.info("Exporting all users");
+
+        long exported = 0;
+        UserResponse current = null;
+
+        try (Stream<UserRepository.UserRoleRow> rows = userRepository.streamAllWithRoleNames()) {
+            for (Iterator<UserRepository.UserRoleRow> it = rows.iterator(); it.hasNext(); ) {
+                UserRepository.UserRoleRow row = it.next();
+
+                if (current == null || !current.getId().equals(row.getId())) {
+                    if (current != null) {
+                        consumer.accept(current);
+                        exported++;
+                    }
+                    current = UserResponse.builder()
+                            .id(row.getId())
+                            .email(row.getEmail())
+                            .firstName(row.getFirstName())
+                            .lastName(row.getLastName())
+                            .roles(new LinkedHashSet<>())
+                            .enabled(row.getEnabled())
+                            .createdAt(row.getCreatedAt())
+                            .updatedAt(row.getUpdatedAt())
+                            .build();
+                }
+
+                if (row.getRole() != null) {
+                    current.getRoles().add(row.getRole());
+                }
+            }
+        }
+
+        if (current != null) {
+            consumer.accept(current);
+            exported++;
+        }
+
+        log.info("Exported {} users", exported);
+        return exported;
+    }
+
     @Transactional(readOnly = true)
     public UserResponse getUserByEmail(String email) {
         log.debug("Fetching user by email: {}", email);
@@ -135,4 +264,52 @@ public class UserService {
 
         return UserResponse.fromEntity(user);
     }
+
+    /**
+     * Cursors are base64url JSON naming the sort they belong to and the last row's sort key and id,
+     * so a cursor cannot be replayed against a different ordering.
+     */
+    private String encodeCursor(ScrollPosition position, String sortBy, Sort.Direction direction) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        ((KeysetScrollPosition) position).getKeys().forEach((key, value) -> keys.put(key, String.valueOf(value)));
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new Cursor(sortBy, direction, keys));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    private ScrollPosition decodeCursor(String encoded, String sortBy, Sort.Direction direction) {
+        Cursor cursor;
+        try {
+            cursor = objectMapper.readValue(Base64.getUrlDecoder().decode(encoded), Cursor.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        if (!sortBy.equals(cursor.sortBy()) || direction != cursor.direction()) {
+            throw new BadRequestException("Cursor was issued for a different sort order");
+        }
+
+        // Both keys must be present; a missing one would otherwise become a null keyset value
+        String sortKey = cursor.keys() == null ? null : cursor.keys().get(sortBy);
+        String idKey = cursor.keys() == null ? null : cursor.keys().get("id");
+        if (sortKey == null || idKey == null) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        try {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(sortBy, CURSOR_SORT_KEYS.get(sortBy).apply(sortKey));
+            keys.put("id", Long.valueOf(idKey));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private record Cursor(String sortBy, Sort.Direction direction, Map<String, String> keys) {
+    }
 }
\ No newline at end of file
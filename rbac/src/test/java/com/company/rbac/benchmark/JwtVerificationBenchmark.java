@@ -0,0 +1,73 @@
+package com.company.rbac.benchmark;
+
+import com.company.rbac.security.JwtKeyRing;
+import com.company.rbac.security.JwtVerifier;
+import com.company.rbac.security.VerifiedToken;
+import com.company.rbac.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the jjwt-based {@link JwtService#validateToken} path with the single-pass
+ * {@link JwtVerifier}. Run with the {@code benchmark} profile; {@code -prof gc} reports
+ * {@code gc.alloc.rate.norm} (bytes allocated per operation).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtVerificationBenchmark {
+
+    private JwtService jwtService;
+    private JwtVerifier jwtVerifier;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeyRing keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "algorithm", JwtKeyRing.HS512);
+        ReflectionTestUtils.setField(keyRing, "activeSecret",
+                "your_jwt_secret_key_at_least_256_bits_long_please_change_in_production");
+        ReflectionTestUtils.setField(keyRing, "activeKeyId", "primary");
+        ReflectionTestUtils.setField(keyRing, "previousKeys", "");
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+
+        jwtService = new JwtService(keyRing);
+        ReflectionTestUtils.setField(jwtService, "expiration", TimeUnit.HOURS.toMillis(1));
+
+        jwtVerifier = new JwtVerifier(keyRing);
+        ReflectionTestUtils.invokeMethod(jwtVerifier, "init");
+
+        userDetails = User.withUsername("manager@example.com")
+                .password("")
+                .roles("USER", "MANAGER")
+                .build();
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Boolean jjwtValidateToken() {
+        return jwtService.validateToken(token, userDetails);
+    }
+
+    @Benchmark
+    public VerifiedToken singlePassVerify() {
+        return jwtVerifier.verify(token);
+    }
+}
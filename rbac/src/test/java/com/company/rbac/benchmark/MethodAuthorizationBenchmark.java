@@ -0,0 +1,91 @@
+package com.company.rbac.benchmark;
+
+import com.company.rbac.security.Authorize;
+import com.company.rbac.security.AuthorizeAuthorizationManager;
+import com.company.rbac.security.RbacPrincipal;
+import com.company.rbac.security.RoleRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of a method authorization check: {@code @PreAuthorize} SpEL evaluation
+ * versus the precompiled {@link Authorize} predicate, for the same rule and principal. Run with
+ * the {@code benchmark} profile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MethodAuthorizationBenchmark {
+
+    private PreAuthorizeAuthorizationManager preAuthorizeManager;
+    private AuthorizeAuthorizationManager authorizeManager;
+    private MethodInvocation preAuthorizeInvocation;
+    private MethodInvocation authorizeInvocation;
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        Resources resources = new Resources();
+
+        preAuthorizeManager = new PreAuthorizeAuthorizationManager();
+        preAuthorizeInvocation = new SimpleMethodInvocation(resources, Resources.class.getMethod("spel"));
+
+        authorizeManager = new AuthorizeAuthorizationManager();
+        authorizeManager.postProcessBeforeInitialization(resources, "resources");
+        authorizeInvocation = new SimpleMethodInvocation(resources, Resources.class.getMethod("compiled"));
+
+        List<SimpleGrantedAuthority> authorities = List.of(
+                new SimpleGrantedAuthority("ROLE_MANAGER"),
+                new SimpleGrantedAuthority("ROLE_USER"),
+                new SimpleGrantedAuthority("dashboard:read"),
+                new SimpleGrantedAuthority("reports:read"));
+        RbacPrincipal principal = new RbacPrincipal(1L, "manager@example.com", "", true, 0,
+                Set.of("ROLE_MANAGER"), authorities, new RoleRegistry.Snapshot(1, Map.of()));
+        authentication = UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities);
+    }
+
+    @Benchmark
+    public AuthorizationDecision preAuthorizeSpel() {
+        return preAuthorizeManager.check(() -> authentication, preAuthorizeInvocation);
+    }
+
+    @Benchmark
+    public AuthorizationDecision authorizeCompiled() {
+        return authorizeManager.check(() -> authentication, authorizeInvocation);
+    }
+
+    public static class Resources {
+
+        @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') and hasAuthority('reports:read')")
+        public void spel() {
+        }
+
+        @Authorize("hasAnyRole('ADMIN', 'MANAGER') and hasAuthority('reports:read')")
+        public void compiled() {
+        }
+    }
+}
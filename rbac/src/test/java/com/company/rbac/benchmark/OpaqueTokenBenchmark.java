@@ -0,0 +1,118 @@
+package com.company.rbac.benchmark;
+
+import com.company.rbac.security.JwtKeyRing;
+import com.company.rbac.security.JwtVerifier;
+import com.company.rbac.security.OpaqueTokenStore;
+import com.company.rbac.security.RbacPrincipal;
+import com.company.rbac.security.RoleRegistry;
+import com.company.rbac.security.TokenExpiryWheel;
+import com.company.rbac.security.VerifiedToken;
+import com.company.rbac.security.VerifiedTokenCache;
+import com.company.rbac.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation cost of a JWT (full verification and the cached path the filter uses) against an
+ * opaque-token lookup, with 100,000 other live sessions in the store. Run with {@code -t <n>} to
+ * measure lock-stripe contention; each thread then resolves its own token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OpaqueTokenBenchmark {
+
+    private static final int SESSIONS = 100_000;
+
+    private JwtVerifier jwtVerifier;
+    private VerifiedTokenCache verifiedTokenCache;
+    private TokenExpiryWheel expiryWheel;
+    private OpaqueTokenStore opaqueTokenStore;
+    private String jwt;
+    private RbacPrincipal principal;
+
+    @Setup
+    public void setUp() {
+        JwtKeyRing keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "algorithm", JwtKeyRing.HS512);
+        ReflectionTestUtils.setField(keyRing, "activeSecret",
+                "your_jwt_secret_key_at_least_256_bits_long_please_change_in_production");
+        ReflectionTestUtils.setField(keyRing, "activeKeyId", "primary");
+        ReflectionTestUtils.setField(keyRing, "previousKeys", "");
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+
+        JwtService jwtService = new JwtService(keyRing);
+        ReflectionTestUtils.setField(jwtService, "expiration", TimeUnit.HOURS.toMillis(1));
+
+        jwtVerifier = new JwtVerifier(keyRing);
+        ReflectionTestUtils.invokeMethod(jwtVerifier, "init");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(meterRegistry, 10_000);
+        expiryWheel = new TokenExpiryWheel(1000, 512);
+        opaqueTokenStore = new OpaqueTokenStore(expiryWheel, meterRegistry, 64);
+
+        principal = new RbacPrincipal(42L, "manager@example.com", "", true, 0,
+                List.of("ROLE_USER", "ROLE_MANAGER"),
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_MANAGER")),
+                new RoleRegistry.Snapshot(0, Map.of()));
+
+        jwt = jwtService.generateToken(principal);
+        for (int i = 0; i < SESSIONS; i++) {
+            opaqueTokenStore.issue(principal, TimeUnit.HOURS.toMillis(1));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        expiryWheel.shutdown();
+    }
+
+    @Benchmark
+    public VerifiedToken jwtVerify() {
+        return jwtVerifier.verify(jwt);
+    }
+
+    @Benchmark
+    public VerifiedToken jwtCached() {
+        return verifiedTokenCache.get(jwt, jwtVerifier::verify);
+    }
+
+    @Benchmark
+    public VerifiedToken opaqueLookup(ThreadSession session) {
+        return opaqueTokenStore.find(session.token);
+    }
+
+    /**
+     * Each thread resolves its own session, as concurrent requests from different users would.
+     */
+    @State(Scope.Thread)
+    public static class ThreadSession {
+
+        private String token;
+
+        @Setup
+        public void setUp(OpaqueTokenBenchmark benchmark) {
+            token = benchmark.opaqueTokenStore.issue(benchmark.principal, TimeUnit.HOURS.toMillis(1));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.company.rbac.security;
+
+import com.company.rbac.event.UserSecurityChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntrospectionCacheTest {
+
+    private final IntrospectionCache cache = new IntrospectionCache(new SimpleMeterRegistry(), 100, 30);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void cachesLoadedTokens() {
+        cache.get("token", this::load);
+        cache.get("token", this::load);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidTokensAreCachedAsInactive() {
+        assertThat(cache.get("bogus", this::loadNothing)).isNull();
+        assertThat(cache.get("bogus", this::loadNothing)).isNull();
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidationRetiresInactiveEntries() {
+        cache.get("bogus", this::loadNothing);
+        // The token may have just been issued to this user
+        cache.invalidateRefreshTokensAfterCommit(7);
+
+        assertThat(cache.get("bogus", this::load)).isNotNull();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loadRacingTokenInvalidationIsNotCached() {
+        cache.get("token", token -> {
+            cache.invalidateAfterCommit(token);
+            return load(token);
+        });
+        cache.get("token", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loadRacingUserInvalidationIsNotCached() {
+        cache.get("token", token -> {
+            cache.invalidateRefreshTokensAfterCommit(7);
+            return load(token);
+        });
+        cache.get("token", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidationDropsCachedRefreshTokensOfTheUser() {
+        cache.get("token", this::load);
+        cache.invalidateRefreshTokensAfterCommit(7);
+        cache.get("token", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void securityChangeDropsOnlyTheAffectedUsersRefreshTokens() {
+        cache.get("token", this::load);
+        cache.get("other", token -> load(token, 8));
+
+        cache.onUserSecurityChanged(new UserSecurityChangedEvent(List.of(7L, 9L), List.of("a@example.com", "c@example.com")));
+        cache.get("token", this::load);
+        cache.get("other", token -> load(token, 8));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    private IntrospectedToken load(String token) {
+        return load(token, 7);
+    }
+
+    private IntrospectedToken loadNothing(String token) {
+        loads.incrementAndGet();
+        return null;
+    }
+
+    private IntrospectedToken load(String token, long userId) {
+        loads.incrementAndGet();
+        return IntrospectedToken.builder()
+                .type(IntrospectedToken.Type.REFRESH)
+                .subject("user@example.com")
+                .userId(userId)
+                .expiresAt(System.currentTimeMillis() / 1000 + 3600)
+                .build();
+    }
+}
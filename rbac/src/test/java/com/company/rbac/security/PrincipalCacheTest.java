@@ -0,0 +1,101 @@
+package com.company.rbac.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrincipalCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PrincipalCache cache = new PrincipalCache(meterRegistry, 100, 300);
+
+    @Test
+    void waitersRethrowTheSharedLoadFailureWithoutLoadingAgain() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, RbacPrincipal> failingLoader = email -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            throw new UsernameNotFoundException("User not found: " + email);
+        };
+
+        CompletableFuture<RbacPrincipal> first = CompletableFuture.supplyAsync(() -> cache.get("a@example.com", failingLoader));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<RbacPrincipal> waiter = CompletableFuture.supplyAsync(() -> cache.get("a@example.com", failingLoader));
+
+        // The waiter has joined the in-flight load once the coalesced counter moves
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("principals.load.coalesced").count() < 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThatThrownBy(first::join).hasCauseInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(waiter::join).hasCauseInstanceOf(UsernameNotFoundException.class);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void waitersAreReleasedWhenTheSharedLoadThrowsAnError() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, RbacPrincipal> crashingLoader = email -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            throw new StackOverflowError();
+        };
+
+        CompletableFuture<RbacPrincipal> first = CompletableFuture.supplyAsync(() -> cache.get("a@example.com", crashingLoader));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<RbacPrincipal> waiter = CompletableFuture.supplyAsync(() -> cache.get("a@example.com", crashingLoader));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("principals.load.coalesced").count() < 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(loads).hasValue(1);
+
+        // The entry is not left in flight; the next lookup loads again
+        assertThatThrownBy(() -> cache.get("a@example.com", email -> {
+            throw new UsernameNotFoundException("User not found: " + email);
+        })).isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, RbacPrincipal> failingLoader = email -> {
+            loads.incrementAndGet();
+            throw new UsernameNotFoundException("User not found: " + email);
+        };
+
+        assertThatThrownBy(() -> cache.get("a@example.com", failingLoader)).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> cache.get("a@example.com", failingLoader)).isInstanceOf(UsernameNotFoundException.class);
+        assertThat(loads).hasValue(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
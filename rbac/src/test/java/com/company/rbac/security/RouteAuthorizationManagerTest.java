@@ -0,0 +1,133 @@
+package com.company.rbac.security;
+
+import com.company.rbac.entity.RouteRule;
+import com.company.rbac.repository.RouteRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RouteAuthorizationManagerTest {
+
+    private static final Authentication USER = UsernamePasswordAuthenticationToken.authenticated(
+            "user@example.com", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+    private static final Authentication ANONYMOUS = new AnonymousAuthenticationToken(
+            "key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+    private final RouteRuleRepository routeRuleRepository = mock(RouteRuleRepository.class);
+    private final RoleRegistry roleRegistry = mock(RoleRegistry.class);
+    private final RoleHierarchyClosure roleHierarchyClosure = mock(RoleHierarchyClosure.class);
+    private RouteAuthorizationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        // Permission checks deny everyone here, so reaching one proves the rule matched
+        when(roleHierarchyClosure.hasPermission(anyString()))
+                .thenReturn((authentication, context) -> new AuthorizationDecision(false));
+        when(routeRuleRepository.findAll()).thenReturn(List.of(
+                rule("/api/authz/**", null, RouteRule.Access.HAS_PERMISSION, "authz:check"),
+                rule("/api/public/**", null, RouteRule.Access.PERMIT_ALL, null),
+                rule("/api/locked", "DELETE", RouteRule.Access.DENY_ALL, null)
+        ));
+
+        manager = new RouteAuthorizationManager(routeRuleRepository, roleRegistry, roleHierarchyClosure);
+    }
+
+    @Test
+    void deniesEverythingUntilRulesAreLoaded() {
+        assertThat(allowed(USER, "GET", "/api/public/info")).isFalse();
+    }
+
+    @Test
+    void appliesMatchingRules() {
+        manager.reload();
+
+        assertThat(allowed(ANONYMOUS, "GET", "/api/public/info")).isTrue();
+        assertThat(allowed(USER, "POST", "/api/authz/check")).isFalse();
+        assertThat(allowed(USER, "DELETE", "/api/locked")).isFalse();
+        assertThat(allowed(USER, "GET", "/api/locked")).isTrue();
+    }
+
+    @Test
+    void unmatchedPathsOnlyRequireAuthentication() {
+        manager.reload();
+
+        assertThat(allowed(USER, "GET", "/api/other")).isTrue();
+        assertThat(allowed(ANONYMOUS, "GET", "/api/other")).isFalse();
+    }
+
+    @Test
+    void percentEncodedPathStillMatchesItsRule() {
+        manager.reload();
+
+        assertThat(allowed(USER, "POST", "/api/%61uthz/check")).isFalse();
+        assertThat(allowed(USER, "POST", "/api/authz%2Fcheck")).isFalse();
+    }
+
+    @Test
+    void pathParametersAndDuplicateSlashesStillMatchTheirRule() {
+        manager.reload();
+
+        assertThat(allowed(USER, "POST", "/api/authz;x=y/check")).isFalse();
+        assertThat(allowed(USER, "POST", "/api//authz/check")).isFalse();
+    }
+
+    @Test
+    void matchesRelativeToTheContextPath() {
+        manager.reload();
+
+        MockHttpServletRequest request = request("POST", "/rbac/api/authz/check");
+        request.setContextPath("/rbac");
+        assertThat(check(USER, request)).isFalse();
+    }
+
+    @Test
+    void roleNamesAreUpperCasedIndependentlyOfTheDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            manager.compile(rule("/api/admin/**", null, RouteRule.Access.HAS_ANY_ROLE, "admin, user"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        verify(roleRegistry).hasAnyRole("ADMIN", "USER");
+    }
+
+    private boolean allowed(Authentication authentication, String method, String uri) {
+        return check(authentication, request(method, uri));
+    }
+
+    private boolean check(Authentication authentication, MockHttpServletRequest request) {
+        return manager.check(() -> authentication, new RequestAuthorizationContext(request)).isGranted();
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRequestURI(uri);
+        return request;
+    }
+
+    private static RouteRule rule(String pattern, String method, RouteRule.Access access, String value) {
+        return RouteRule.builder()
+                .pattern(pattern)
+                .httpMethod(method)
+                .access(access)
+                .value(value)
+                .build();
+    }
+}
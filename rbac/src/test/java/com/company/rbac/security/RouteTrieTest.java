@@ -0,0 +1,72 @@
+package com.company.rbac.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class RouteTrieTest {
+
+    private final RouteTrie<String> trie = RouteTrie.<String>builder()
+            .add("/api/users/**", null, "users")
+            .add("/api/users/*", "DELETE", "delete-user")
+            .add("/api/users/export", null, "export")
+            .add("/api/resources/*/read", null, "resource-read")
+            .add("/api/auth/**", null, "auth")
+            .add("/api/auth/introspect", "POST", "introspect")
+            .build();
+
+    @Test
+    void literalSegmentBeatsWildcards() {
+        assertThat(trie.match("GET", "/api/users/export")).isEqualTo("export");
+        assertThat(trie.match("DELETE", "/api/users/export")).isEqualTo("export");
+    }
+
+    @Test
+    void singleSegmentWildcardBeatsRemainder() {
+        assertThat(trie.match("DELETE", "/api/users/42")).isEqualTo("delete-user");
+        assertThat(trie.match("GET", "/api/users/42")).isEqualTo("users");
+    }
+
+    @Test
+    void remainderMatchesItsOwnPrefixAndDeeperPaths() {
+        assertThat(trie.match("GET", "/api/users")).isEqualTo("users");
+        assertThat(trie.match("GET", "/api/users/42/roles/7")).isEqualTo("users");
+    }
+
+    @Test
+    void methodSpecificEntryBeatsAnyMethodEntry() {
+        assertThat(trie.match("POST", "/api/auth/introspect")).isEqualTo("introspect");
+        assertThat(trie.match("GET", "/api/auth/introspect")).isEqualTo("auth");
+    }
+
+    @Test
+    void wildcardInTheMiddleMatchesExactlyOneSegment() {
+        assertThat(trie.match("GET", "/api/resources/reports/read")).isEqualTo("resource-read");
+        assertThat(trie.match("GET", "/api/resources/read")).isNull();
+        assertThat(trie.match("GET", "/api/resources/a/b/read")).isNull();
+    }
+
+    @Test
+    void repeatedAndTrailingSlashesAreIgnored() {
+        assertThat(trie.match("GET", "//api///users/export/")).isEqualTo("export");
+    }
+
+    @Test
+    void unmatchedPathReturnsNull() {
+        assertThat(trie.match("GET", "/api/roles")).isNull();
+        assertThat(trie.match("GET", "/")).isNull();
+    }
+
+    @Test
+    void literalMatchingIsCaseSensitive() {
+        assertThat(trie.match("GET", "/API/users/export")).isNull();
+    }
+
+    @Test
+    void malformedPatternsAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> RouteTrie.parsePattern("api/users"));
+        assertThatIllegalArgumentException().isThrownBy(() -> RouteTrie.parsePattern("/api/**/users"));
+        assertThatIllegalArgumentException().isThrownBy(() -> RouteTrie.parsePattern("/api/user*"));
+    }
+}
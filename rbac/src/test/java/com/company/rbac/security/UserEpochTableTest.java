@@ -0,0 +1,98 @@
+package com.company.rbac.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserEpochTableTest {
+
+    @Test
+    void unknownUserReturnsTheMissingValue() {
+        UserEpochTable table = new UserEpochTable(4);
+
+        assertThat(table.get(1, -1)).isEqualTo(-1);
+        assertThat(table.size()).isZero();
+    }
+
+    @Test
+    void raiseKeepsTheHighestEpoch() {
+        UserEpochTable table = new UserEpochTable(4);
+
+        table.raise(7, 3);
+        table.raise(7, 1);
+        assertThat(table.get(7, 0)).isEqualTo(3);
+
+        table.raise(7, 5);
+        assertThat(table.get(7, 0)).isEqualTo(5);
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void growsPastItsInitialCapacityWithoutLosingEntries() {
+        UserEpochTable table = new UserEpochTable(1);
+
+        for (long userId = 1; userId <= 10_000; userId++) {
+            table.raise(userId, userId * 2);
+        }
+
+        assertThat(table.size()).isEqualTo(10_000);
+        for (long userId = 1; userId <= 10_000; userId++) {
+            assertThat(table.get(userId, -1)).isEqualTo(userId * 2);
+        }
+        assertThat(table.get(10_001, -1)).isEqualTo(-1);
+    }
+
+    @Test
+    void findsKeysThatShareAHomeSlot() {
+        // 16 expected entries give 32 slots; pick keys the table's own hash sends to slot 0 so
+        // they can only be told apart by linear probing
+        UserEpochTable table = new UserEpochTable(16);
+        List<Long> colliding = new ArrayList<>();
+        for (long userId = 1; colliding.size() < 8; userId++) {
+            int hash = ReflectionTestUtils.invokeMethod(UserEpochTable.class, "mix", userId);
+            if ((hash & 31) == 0) {
+                colliding.add(userId);
+            }
+        }
+
+        for (int i = 0; i < 7; i++) {
+            table.raise(colliding.get(i), i + 1);
+        }
+
+        for (int i = 0; i < 7; i++) {
+            assertThat(table.get(colliding.get(i), -1)).isEqualTo(i + 1);
+        }
+        assertThat(table.get(colliding.get(7), -1)).isEqualTo(-1);
+    }
+
+    @Test
+    void readersSeeRecordedEpochsWhileTheTableResizes() {
+        UserEpochTable table = new UserEpochTable(1);
+        AtomicLong written = new AtomicLong();
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (long userId = 1; userId <= 50_000; userId++) {
+                table.raise(userId, userId);
+                written.set(userId);
+            }
+        });
+
+        long misses = 0;
+        while (!writer.isDone()) {
+            long userId = written.get();
+            if (userId > 0 && table.get(userId, -1) != userId) {
+                misses++;
+            }
+        }
+        writer.join();
+
+        assertThat(misses).isZero();
+        assertThat(table.size()).isEqualTo(50_000);
+    }
+}
@@ -0,0 +1,100 @@
+package com.company.rbac.service;
+
+import com.company.rbac.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserImportReaderTest {
+
+    private static final String HEADER = "email,password,firstName,lastName,roles\r\n";
+
+    @Test
+    void readsQuotedFieldsWithCommasAndEscapedQuotes() throws IOException {
+        List<UserImportReader.Row> rows = readCsv(HEADER
+                + "ann@example.com,secret123,\"Ann, Jr.\",\"O\"\"Hara\",ADMIN|USER\r\n");
+
+        assertThat(rows).hasSize(1);
+        UserImportReader.Row row = rows.get(0);
+        assertThat(row.error()).isNull();
+        assertThat(row.line()).isEqualTo(2);
+        assertThat(row.user().getFirstName()).isEqualTo("Ann, Jr.");
+        assertThat(row.user().getLastName()).isEqualTo("O\"Hara");
+        assertThat(row.user().getRoles()).containsExactly("ADMIN", "USER");
+    }
+
+    @Test
+    void readsRecordsSpanningLinesAndReportsTheirStartLine() throws IOException {
+        List<UserImportReader.Row> rows = readCsv(HEADER
+                + "ann@example.com,secret123,\"Ann\nMarie\",Smith,\n"
+                + "bob@example.com,secret123,Bob,Jones,\n");
+
+        assertThat(rows).extracting(UserImportReader.Row::line).containsExactly(2L, 4L);
+        assertThat(rows.get(0).user().getFirstName()).isEqualTo("Ann\nMarie");
+        assertThat(rows.get(0).user().getRoles()).isNull();
+        assertThat(rows.get(1).user().getEmail()).isEqualTo("bob@example.com");
+    }
+
+    @Test
+    void skipsBlankLinesAndReportsRowsWithTheWrongFieldCount() throws IOException {
+        List<UserImportReader.Row> rows = readCsv(HEADER
+                + "\n"
+                + "ann@example.com,secret123,Ann\n"
+                + "bob@example.com,secret123,Bob,Jones,USER");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(3);
+        assertThat(rows.get(0).user()).isNull();
+        assertThat(rows.get(0).error()).isEqualTo("Expected 5 fields but found 3");
+        assertThat(rows.get(1).line()).isEqualTo(4);
+        assertThat(rows.get(1).user().getRoles()).containsExactly("USER");
+    }
+
+    @Test
+    void rejectsHeaderWithUnknownOrMissingColumns() {
+        assertThatThrownBy(() -> readCsv("email,nickname\n")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> readCsv("email,firstName,lastName\n")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> readCsv("")).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void readsNdjsonAndReportsMalformedLines() throws IOException {
+        String input = "{\"email\":\"ann@example.com\",\"password\":\"secret123\",\"firstName\":\"Ann\",\"lastName\":\"Smith\"}\n"
+                + "\n"
+                + "{not json}\n";
+
+        List<UserImportReader.Row> rows = new ArrayList<>();
+        try (UserImportReader reader = UserImportReader.ndjson(stream(input), new ObjectMapper())) {
+            for (UserImportReader.Row row; (row = reader.next()) != null; ) {
+                rows.add(row);
+            }
+        }
+
+        assertThat(rows).extracting(UserImportReader.Row::line).containsExactly(1L, 3L);
+        assertThat(rows.get(0).user().getEmail()).isEqualTo("ann@example.com");
+        assertThat(rows.get(1).error()).startsWith("Malformed JSON");
+    }
+
+    private static List<UserImportReader.Row> readCsv(String input) throws IOException {
+        List<UserImportReader.Row> rows = new ArrayList<>();
+        try (UserImportReader reader = UserImportReader.csv(stream(input))) {
+            for (UserImportReader.Row row; (row = reader.next()) != null; ) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static InputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
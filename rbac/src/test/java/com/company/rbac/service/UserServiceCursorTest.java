@@ -0,0 +1,114 @@
+package com.company.rbac.service;
+
+import com.company.rbac.dto.response.CursorPageResponse;
+import com.company.rbac.dto.response.UserResponse;
+import com.company.rbac.entity.User;
+import com.company.rbac.exception.BadRequestException;
+import com.company.rbac.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceCursorTest {
+
+    private static final User LAST = User.builder()
+            .id(42L)
+            .email("zoe@example.com")
+            .firstName("Zoë")
+            .lastName("O'Neil, Jr.")
+            .enabled(true)
+            .createdAt(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000))
+            .build();
+
+    private static final Map<String, Function<User, Object>> SORT_KEYS = Map.of(
+            "id", User::getId,
+            "email", User::getEmail,
+            "firstName", User::getFirstName,
+            "lastName", User::getLastName,
+            "createdAt", User::getCreatedAt
+    );
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserService userService = new UserService(userRepository, null, null, null, null, new ObjectMapper());
+
+    static Stream<Arguments> sortOrders() {
+        return SORT_KEYS.keySet().stream()
+                .flatMap(sortBy -> Stream.of(Sort.Direction.ASC, Sort.Direction.DESC)
+                        .map(direction -> Arguments.of(sortBy, direction)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sortOrders")
+    void nextCursorResumesAfterTheLastRow(String sortBy, Sort.Direction direction) {
+        Map<String, Object> lastKeys = new LinkedHashMap<>();
+        lastKeys.put(sortBy, SORT_KEYS.get(sortBy).apply(LAST));
+        lastKeys.put("id", LAST.getId());
+        when(userRepository.findAllBy(any(), any(), any()))
+                .thenReturn(Window.from(List.of(LAST), index -> ScrollPosition.forward(lastKeys), true));
+
+        CursorPageResponse<UserResponse> first = userService.scrollUsers(null, 1, sortBy, direction);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        userService.scrollUsers(first.getNextCursor(), 1, sortBy, direction);
+
+        ArgumentCaptor<ScrollPosition> positions = ArgumentCaptor.forClass(ScrollPosition.class);
+        verify(userRepository, times(2)).findAllBy(positions.capture(), any(Sort.class), any(Limit.class));
+        KeysetScrollPosition resumed = (KeysetScrollPosition) positions.getAllValues().get(1);
+        assertThat(resumed.getDirection()).isEqualTo(ScrollPosition.Direction.FORWARD);
+        assertThat(resumed.getKeys()).isEqualTo(lastKeys);
+    }
+
+    @ParameterizedTest
+    @MethodSource("sortOrders")
+    void cursorIsRejectedForAnotherSortOrder(String sortBy, Sort.Direction direction) {
+        String cursor = cursor("{\"sortBy\":\"" + sortBy + "\",\"direction\":\"" + direction + "\",\"keys\":{\"" + sortBy + "\":\"42\",\"id\":\"42\"}}");
+        Sort.Direction other = direction == Sort.Direction.ASC ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        assertThatThrownBy(() -> userService.scrollUsers(cursor, 1, sortBy, other))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"sortBy\":\"email\",\"direction\":\"ASC\",\"keys\":{\"id\":\"42\"}}",
+            "{\"sortBy\":\"email\",\"direction\":\"ASC\",\"keys\":{\"email\":\"a@example.com\"}}",
+            "{\"sortBy\":\"email\",\"direction\":\"ASC\",\"keys\":{\"email\":null,\"id\":\"42\"}}",
+            "{\"sortBy\":\"email\",\"direction\":\"ASC\",\"keys\":{\"email\":\"a@example.com\",\"id\":\"x\"}}",
+            "{\"sortBy\":\"email\",\"direction\":\"ASC\"}",
+            "not json"
+    })
+    void incompleteOrMalformedCursorIsRejected(String json) {
+        assertThatThrownBy(() -> userService.scrollUsers(cursor(json), 1, "email", Sort.Direction.ASC))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private static String cursor(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}